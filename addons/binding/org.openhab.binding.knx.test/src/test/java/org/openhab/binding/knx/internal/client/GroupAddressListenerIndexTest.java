@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import org.eclipse.smarthome.core.thing.ThingStatus;
+import org.eclipse.smarthome.core.thing.ThingStatusDetail;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+import tuwien.auto.calimero.link.KNXNetworkLink;
+import tuwien.auto.calimero.process.ProcessCommunicator;
+import tuwien.auto.calimero.process.ProcessEvent;
+
+/**
+ * Tests cases for the dispatching of telegrams to the {@link GroupAddressListener}s of an {@link AbstractKNXClient}
+ *
+ * @author agent - Initial contribution
+ */
+public class GroupAddressListenerIndexTest {
+
+    private static final IndividualAddress SOURCE = new IndividualAddress(1, 1, 1);
+    private static final ProcessCommunicator COMMUNICATOR = (ProcessCommunicator) Proxy.newProxyInstance(
+            ProcessCommunicator.class.getClassLoader(), new Class<?>[] { ProcessCommunicator.class },
+            (proxy, method, args) -> null);
+
+    private ScheduledThreadPoolExecutor scheduler;
+    private AbstractKNXClient client;
+
+    @Before
+    public void setup() {
+        // notifies the listeners on the calling thread
+        scheduler = new ScheduledThreadPoolExecutor(1) {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        };
+        client = new AbstractKNXClient(0, new ThingUID("knx:ip:bridge"), 10, 50, 3, scheduler,
+                new StatusUpdateCallback() {
+                    @Override
+                    public void updateStatus(ThingStatus status) {
+                    }
+
+                    @Override
+                    public void updateStatus(ThingStatus status, ThingStatusDetail thingStatusDetail,
+                            String message) {
+                    }
+                }) {
+            @Override
+            protected KNXNetworkLink establishConnection() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void telegramsOnlyReachTheListenersOfTheirGroupAddress() {
+        RecordingListener light = new RecordingListener("1/0/1", "1/0/2");
+        RecordingListener blind = new RecordingListener("2/0/1");
+        RecordingListener both = new RecordingListener("1/0/2", "2/0/1");
+        client.registerGroupAddressListener(light);
+        client.registerGroupAddressListener(blind);
+        client.registerGroupAddressListener(both);
+
+        client.processListener.groupWrite(event("1/0/1"));
+        client.processListener.groupWrite(event("2/0/1"));
+        client.processListener.groupWrite(event("3/0/1"));
+
+        assertEquals(Arrays.asList("write 1/0/1"), light.received);
+        assertEquals(Arrays.asList("write 2/0/1"), blind.received);
+        assertEquals(Arrays.asList("write 2/0/1"), both.received);
+    }
+
+    @Test
+    public void readRequestsAndResponsesAreDispatchedByGroupAddress() {
+        RecordingListener light = new RecordingListener("1/0/1");
+        RecordingListener blind = new RecordingListener("2/0/1");
+        client.registerGroupAddressListener(light);
+        client.registerGroupAddressListener(blind);
+
+        client.processListener.groupReadRequest(event("1/0/1"));
+        client.processListener.groupReadResponse(event("2/0/1"));
+
+        assertEquals(Arrays.asList("read 1/0/1"), light.received);
+        assertEquals(Arrays.asList("response 2/0/1"), blind.received);
+    }
+
+    @Test
+    public void unregisteredListenersAreRemovedFromTheIndex() {
+        RecordingListener light = new RecordingListener("1/0/1");
+        RecordingListener other = new RecordingListener("1/0/1");
+        client.registerGroupAddressListener(light);
+        client.registerGroupAddressListener(other);
+
+        assertTrue(client.unregisterGroupAddressListener(light));
+        assertFalse(client.unregisterGroupAddressListener(light));
+        client.processListener.groupWrite(event("1/0/1"));
+
+        assertEquals(Collections.emptyList(), light.received);
+        assertEquals(Arrays.asList("write 1/0/1"), other.received);
+    }
+
+    @Test
+    public void reinitializedListenersAreIndexedByTheirNewGroupAddresses() {
+        // like a DeviceThingHandler whose channels changed, it registers again when it is initialized
+        RecordingListener handler = new RecordingListener("1/0/1", "1/0/2");
+        assertTrue(client.registerGroupAddressListener(handler));
+
+        handler.groupAddresses = addresses("1/0/2", "1/0/3");
+        assertFalse(client.registerGroupAddressListener(handler));
+
+        client.processListener.groupWrite(event("1/0/1"));
+        client.processListener.groupWrite(event("1/0/2"));
+        client.processListener.groupWrite(event("1/0/3"));
+
+        assertEquals(Arrays.asList("write 1/0/2", "write 1/0/3"), handler.received);
+    }
+
+    @Test
+    public void addressesChangedWithoutRegisteringAgainAreIgnored() {
+        RecordingListener handler = new RecordingListener("1/0/1");
+        client.registerGroupAddressListener(handler);
+
+        handler.groupAddresses.add(address("1/0/2"));
+        client.processListener.groupWrite(event("1/0/2"));
+
+        assertEquals(Collections.emptyList(), handler.received);
+    }
+
+    private static class RecordingListener implements GroupAddressListener {
+
+        Set<GroupAddress> groupAddresses;
+        final List<String> received = new ArrayList<>();
+
+        RecordingListener(String... addresses) {
+            groupAddresses = addresses(addresses);
+        }
+
+        @Override
+        public Set<GroupAddress> getGroupAddresses() {
+            return groupAddresses;
+        }
+
+        @Override
+        public void onGroupWrite(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+            received.add("write " + destination);
+        }
+
+        @Override
+        public void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+            received.add("read " + destination);
+        }
+
+        @Override
+        public void onGroupReadResponse(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+            received.add("response " + destination);
+        }
+    }
+
+    private static ProcessEvent event(String destination) {
+        return new ProcessEvent(COMMUNICATOR, SOURCE, address(destination), 0, new byte[] { 1 }, true);
+    }
+
+    private static Set<GroupAddress> addresses(String... addresses) {
+        Set<GroupAddress> result = new HashSet<>();
+        for (String address : addresses) {
+            result.add(address(address));
+        }
+        return result;
+    }
+
+    private static GroupAddress address(String address) {
+        try {
+            return new GroupAddress(address);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXTimeoutException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
+/**
+ * Tests cases for {@link ReadScheduler}
+ *
+ * @author agent - Initial contribution
+ */
+public class ReadSchedulerTest {
+
+    private final List<GroupAddress> sent = new ArrayList<>();
+
+    @Test
+    public void readsAreMergedAndSentByPriority() throws Exception {
+        ReadScheduler scheduler = new ReadScheduler(50, 10);
+        scheduler.add(read("1/0/1"), ReadPriority.LOW);
+        scheduler.add(read("1/0/2"), ReadPriority.NORMAL);
+        scheduler.add(read("1/0/3"), ReadPriority.NORMAL);
+        scheduler.add(read("1/0/1"), ReadPriority.HIGH);
+        scheduler.add(read("1/0/2"), ReadPriority.LOW);
+
+        sendAll(scheduler);
+
+        assertEquals(Arrays.asList(address("1/0/1"), address("1/0/2"), address("1/0/3")), sent);
+    }
+
+    @Test
+    public void readsWaitingForResponseAreNotRepeated() throws Exception {
+        ReadScheduler scheduler = new ReadScheduler(50, 10);
+        scheduler.add(read("1/0/1"), ReadPriority.NORMAL);
+        sendAll(scheduler);
+
+        scheduler.add(read("1/0/1"), ReadPriority.HIGH);
+        sendAll(scheduler);
+        assertEquals(1, sent.size());
+
+        scheduler.responseReceived(address("1/0/1"));
+        scheduler.add(read("1/0/1"), ReadPriority.HIGH);
+        sendAll(scheduler);
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    public void unansweredReadsAreRetriedUpToTheLimit() throws Exception {
+        // no response timeout, unanswered reads are retried at once
+        ReadScheduler scheduler = new ReadScheduler(50, 0);
+        scheduler.add(read("1/0/1"), ReadPriority.NORMAL);
+
+        for (int i = 0; i < 5; i++) {
+            sendAll(scheduler);
+        }
+
+        assertEquals(Arrays.asList(address("1/0/1"), address("1/0/1"), address("1/0/1")), sent);
+    }
+
+    @Test
+    public void failedRequestsAreRetriedAndSlowDown() throws Exception {
+        ReadScheduler scheduler = new ReadScheduler(50, 10);
+        scheduler.add(read("1/0/1"), ReadPriority.NORMAL);
+
+        long delay = scheduler.sendNext(datapoint -> {
+            throw new KNXTimeoutException("no confirmation");
+        });
+        assertEquals(ReadScheduler.MAX_PAUSE_MILLIS, delay);
+
+        sendAll(scheduler);
+        assertEquals(Arrays.asList(address("1/0/1")), sent);
+    }
+
+    @Test
+    public void pauseAdaptsToBusLoad() throws Exception {
+        ReadScheduler scheduler = new ReadScheduler(100, 10);
+        for (int i = 0; i < 20; i++) {
+            scheduler.add(read("1/0/" + i), ReadPriority.NORMAL);
+        }
+        sendAll(scheduler);
+        assertEquals(25, scheduler.getPause());
+
+        for (int i = 0; i < ReadScheduler.BUSY_TELEGRAMS_PER_SECOND; i++) {
+            scheduler.telegramReceived();
+        }
+        scheduler.add(read("1/1/0"), ReadPriority.NORMAL);
+        sendAll(scheduler);
+        assertEquals(50, scheduler.getPause());
+    }
+
+    private void sendAll(ReadScheduler scheduler) throws InterruptedException {
+        int count;
+        do {
+            count = sent.size();
+            scheduler.sendNext(datapoint -> sent.add(datapoint.getMainAddress()));
+        } while (sent.size() > count);
+    }
+
+    private static ReadDatapoint read(String address) throws Exception {
+        return new ReadDatapoint(new CommandDP(address(address), "test", 0, "1.001"), 3);
+    }
+
+    private static GroupAddress address(String address) {
+        try {
+            return new GroupAddress(address);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -12,11 +12,24 @@
  */
 package org.openhab.binding.knx.internal.dpt;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.UpDownType;
+import org.eclipse.smarthome.core.types.Type;
 import org.junit.Test;
 
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes;
+
 /**
  *
  * @author Simon Kaufmann - initial contribution and API
@@ -30,4 +43,65 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
 
+    @Test
+    public void testToType_boolean() {
+        assertEquals(OnOffType.ON, toType("1.001", 0x01));
+        assertEquals(OnOffType.OFF, toType("1.001", 0x00));
+        assertEquals(UpDownType.DOWN, toType("1.008", 0x01));
+        assertEquals(OpenClosedType.CLOSED, toType("1.009", 0x00));
+        assertEquals(new DecimalType(1), toType("1.022", 0x01));
+    }
+
+    @Test
+    public void testToType_numericDecodingMatchesTranslator() throws KNXException {
+        for (String dptId : TranslatorTypes.getMainType(5).getSubTypes().keySet()) {
+            assertTranslatorValue(dptId, 0x00);
+            assertTranslatorValue(dptId, 0x33);
+            assertTranslatorValue(dptId, 0x64);
+        }
+        for (String dptId : TranslatorTypes.getMainType(9).getSubTypes().keySet()) {
+            assertTranslatorValue(dptId, 0x00, 0x00);
+            assertTranslatorValue(dptId, 0x0C, 0x1A);
+            assertTranslatorValue(dptId, 0x06, 0x4C);
+        }
+        for (String dptId : TranslatorTypes.getMainType(14).getSubTypes().keySet()) {
+            assertTranslatorValue(dptId, 0x00, 0x00, 0x00, 0x00);
+            assertTranslatorValue(dptId, 0x41, 0xB4, 0x00, 0x00);
+        }
+    }
+
+    @Test
+    public void testToType_negativeValues() {
+        assertEquals(-1.0, ((DecimalType) toType("9.001", 0x87, 0x9C)).doubleValue(), 0);
+        assertEquals(-22.5, ((DecimalType) toType("14.068", 0xC1, 0xB4, 0x00, 0x00)).doubleValue(), 0);
+    }
+
+    @Test
+    public void testToType_dataTooShort() {
+        assertNull(toType("9.001", 0x0C));
+    }
+
+    private void assertTranslatorValue(String dptId, int... data) throws KNXException {
+        DPTXlator translator = TranslatorTypes.createTranslator(0, dptId);
+        translator.setData(toBytes(data));
+        Type type = toType(dptId, data);
+        if (type instanceof PercentType) {
+            assertEquals(dptId, new PercentType(BigDecimal.valueOf(Math.round(translator.getNumericValue()))), type);
+        } else {
+            assertEquals(dptId, translator.getNumericValue(), ((DecimalType) type).doubleValue(), 0);
+        }
+    }
+
+    private Type toType(String dptId, int... data) {
+        return new KNXCoreTypeMapper().toType(new CommandDP(new GroupAddress(1, 2, 3), "test", 0, dptId), toBytes(data));
+    }
+
+    private byte[] toBytes(int... data) {
+        byte[] bytes = new byte[data.length];
+        for (int i = 0; i < data.length; i++) {
+            bytes[i] = (byte) data[i];
+        }
+        return bytes;
+    }
+
 }
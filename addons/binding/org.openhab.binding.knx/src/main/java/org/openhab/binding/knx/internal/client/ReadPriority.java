@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+/**
+ * Priority of a read request queued by the {@link ReadScheduler}.
+ *
+ * @author agent - Initial contribution
+ */
+public enum ReadPriority {
+    /** explicitly requested, e.g. by a REFRESH command */
+    HIGH,
+    /** initial read of a linked channel */
+    NORMAL,
+    /** periodic read */
+    LOW
+}
@@ -0,0 +1,279 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Schedules the group read requests of a KNX client.
+ *
+ * Reads are queued by priority, a read of a group address which is already queued or waiting for its response is
+ * merged with it. The responses are not waited for before sending the next request, but the number of reads waiting
+ * for a response is limited. Reads not answered within the response timeout are retried.
+ *
+ * The pause between two requests starts at the configured reading pause. It is doubled when the bus is busy or the
+ * confirmation of a request takes much longer than usual, and shortened down to a quarter of the reading pause
+ * otherwise.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadScheduler {
+
+    /** maximum number of reads waiting for their response */
+    static final int MAX_PENDING_RESPONSES = 32;
+    /** bus load in telegrams per second above which the requests are slowed down */
+    static final int BUSY_TELEGRAMS_PER_SECOND = 30;
+    /** the pause can grow up to this value, or the reading pause if it is longer */
+    static final long MAX_PAUSE_MILLIS = 1000;
+    private static final long SLOW_CONFIRMATION_MARGIN_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long BUS_LOAD_SLOT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Logger logger = LoggerFactory.getLogger(ReadScheduler.class);
+
+    /**
+     * Sends a group read request. Returns when the request has been confirmed.
+     */
+    @FunctionalInterface
+    public interface ReadRequestSender {
+        void sendReadRequest(Datapoint datapoint) throws KNXException, InterruptedException;
+    }
+
+    private static class QueuedRead implements Comparable<QueuedRead> {
+        final ReadDatapoint datapoint;
+        final ReadPriority priority;
+        final long sequence;
+
+        QueuedRead(ReadDatapoint datapoint, ReadPriority priority, long sequence) {
+            this.datapoint = datapoint;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(QueuedRead other) {
+            int result = priority.compareTo(other.priority);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static class PendingRead {
+        final ReadDatapoint datapoint;
+        final ReadPriority priority;
+        final long sentNanos;
+
+        PendingRead(ReadDatapoint datapoint, ReadPriority priority, long sentNanos) {
+            this.datapoint = datapoint;
+            this.priority = priority;
+            this.sentNanos = sentNanos;
+        }
+    }
+
+    private final long readingPauseNanos;
+    private final long minPauseNanos;
+    private final long maxPauseNanos;
+    private final long responseTimeoutNanos;
+
+    private final TreeSet<QueuedRead> queue = new TreeSet<>();
+    private final Map<GroupAddress, QueuedRead> queuedReads = new HashMap<>();
+    // in the order the requests were sent, which is the order they time out
+    private final Map<GroupAddress, PendingRead> pendingReads = new LinkedHashMap<>();
+    private long sequence;
+
+    private long pauseNanos;
+    private long minConfirmationNanos = Long.MAX_VALUE;
+
+    private long busLoadSlotStart = System.nanoTime();
+    private int telegramsInSlot;
+    private int telegramsInPreviousSlot;
+
+    /**
+     * @param readingPause the initial pause between two read requests, in milliseconds
+     * @param responseTimeout the time to wait for a response, in seconds
+     */
+    public ReadScheduler(int readingPause, int responseTimeout) {
+        readingPauseNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, readingPause));
+        minPauseNanos = readingPauseNanos / 4;
+        maxPauseNanos = Math.max(readingPauseNanos, TimeUnit.MILLISECONDS.toNanos(MAX_PAUSE_MILLIS));
+        responseTimeoutNanos = TimeUnit.SECONDS.toNanos(responseTimeout);
+        pauseNanos = readingPauseNanos;
+    }
+
+    /**
+     * Queue a read request. If the group address is already queued, the read keeps its position but gets the higher
+     * of both priorities. If it is waiting for a response, the request is dropped.
+     *
+     * @param datapoint the datapoint to read
+     * @param priority the priority of the read
+     */
+    public synchronized void add(ReadDatapoint datapoint, ReadPriority priority) {
+        GroupAddress address = datapoint.getDatapoint().getMainAddress();
+        if (pendingReads.containsKey(address)) {
+            return;
+        }
+        QueuedRead queuedRead = queuedReads.get(address);
+        if (queuedRead == null) {
+            enqueue(new QueuedRead(datapoint, priority, sequence++));
+        } else if (priority.compareTo(queuedRead.priority) < 0) {
+            queue.remove(queuedRead);
+            enqueue(new QueuedRead(queuedRead.datapoint, priority, queuedRead.sequence));
+        }
+    }
+
+    private void enqueue(QueuedRead queuedRead) {
+        queue.add(queuedRead);
+        queuedReads.put(queuedRead.datapoint.getDatapoint().getMainAddress(), queuedRead);
+    }
+
+    /**
+     * Called for every group write or read response telegram. Answers a pending read of its destination.
+     *
+     * @param destination the destination of the telegram
+     */
+    public synchronized void responseReceived(GroupAddress destination) {
+        pendingReads.remove(destination);
+    }
+
+    /**
+     * Called for every telegram on the bus, used to determine the bus load.
+     */
+    public synchronized void telegramReceived() {
+        updateBusLoad(System.nanoTime());
+        telegramsInSlot++;
+    }
+
+    /**
+     * Drop all queued and pending reads and forget the measured confirmation times, e.g. when the connection is
+     * closed.
+     */
+    public synchronized void clear() {
+        queue.clear();
+        queuedReads.clear();
+        pendingReads.clear();
+        pauseNanos = readingPauseNanos;
+        minConfirmationNanos = Long.MAX_VALUE;
+    }
+
+    /**
+     * Send the next queued read request, if the number of reads waiting for a response permits.
+     *
+     * @param sender sends the read request
+     * @return the time to wait before calling this method again, in milliseconds
+     * @throws InterruptedException the thread was interrupted while sending
+     */
+    public long sendNext(ReadRequestSender sender) throws InterruptedException {
+        QueuedRead read;
+        long sentNanos;
+        synchronized (this) {
+            sentNanos = System.nanoTime();
+            retryUnansweredReads(sentNanos);
+            if (pendingReads.size() >= MAX_PENDING_RESPONSES || queue.isEmpty()) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(Math.max(pauseNanos, readingPauseNanos)));
+            }
+            read = queue.pollFirst();
+            GroupAddress address = read.datapoint.getDatapoint().getMainAddress();
+            queuedReads.remove(address);
+            // registered before sending, the response may arrive before the confirmation
+            pendingReads.put(address, new PendingRead(read.datapoint, read.priority, sentNanos));
+        }
+
+        read.datapoint.incrementRetries();
+        try {
+            sender.sendReadRequest(read.datapoint.getDatapoint());
+        } catch (KNXException e) {
+            synchronized (this) {
+                pendingReads.remove(read.datapoint.getDatapoint().getMainAddress());
+                pauseNanos = maxPauseNanos;
+                retry(read.datapoint, read.priority, e.getMessage());
+                return TimeUnit.NANOSECONDS.toMillis(pauseNanos);
+            }
+        }
+
+        long now = System.nanoTime();
+        synchronized (this) {
+            adaptPause(now - sentNanos, now);
+            return TimeUnit.NANOSECONDS.toMillis(pauseNanos);
+        }
+    }
+
+    /**
+     * @return the current pause between two read requests, in milliseconds
+     */
+    synchronized long getPause() {
+        return TimeUnit.NANOSECONDS.toMillis(pauseNanos);
+    }
+
+    private void adaptPause(long confirmationNanos, long now) {
+        minConfirmationNanos = Math.min(minConfirmationNanos, confirmationNanos);
+        boolean slowConfirmation = confirmationNanos > 2 * minConfirmationNanos + SLOW_CONFIRMATION_MARGIN_NANOS;
+        boolean busy = getBusLoad(now) >= BUSY_TELEGRAMS_PER_SECOND;
+        if (slowConfirmation || busy) {
+            pauseNanos = Math.min(maxPauseNanos, Math.max(pauseNanos * 2, 1));
+        } else {
+            pauseNanos = Math.max(minPauseNanos, pauseNanos * 3 / 4);
+        }
+    }
+
+    private void retryUnansweredReads(long now) {
+        Iterator<PendingRead> iterator = pendingReads.values().iterator();
+        while (iterator.hasNext()) {
+            PendingRead pendingRead = iterator.next();
+            if (now - pendingRead.sentNanos < responseTimeoutNanos) {
+                break;
+            }
+            iterator.remove();
+            retry(pendingRead.datapoint, pendingRead.priority, "no response");
+        }
+    }
+
+    private void retry(ReadDatapoint datapoint, ReadPriority priority, @Nullable String reason) {
+        GroupAddress address = datapoint.getDatapoint().getMainAddress();
+        if (datapoint.getRetries() < datapoint.getLimit()) {
+            logger.debug("Could not read value for datapoint {}: {}. Going to retry.", address, reason);
+            if (!queuedReads.containsKey(address)) {
+                enqueue(new QueuedRead(datapoint, priority, sequence++));
+            }
+        } else {
+            logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.", address,
+                    datapoint.getLimit());
+        }
+    }
+
+    private int getBusLoad(long now) {
+        updateBusLoad(now);
+        return Math.max(telegramsInSlot, telegramsInPreviousSlot);
+    }
+
+    private void updateBusLoad(long now) {
+        long elapsed = now - busLoadSlotStart;
+        if (elapsed >= BUS_LOAD_SLOT_NANOS) {
+            telegramsInPreviousSlot = elapsed < 2 * BUS_LOAD_SLOT_NANOS ? telegramsInSlot : 0;
+            telegramsInSlot = 0;
+            busLoadSlotStart = now;
+        }
+    }
+}
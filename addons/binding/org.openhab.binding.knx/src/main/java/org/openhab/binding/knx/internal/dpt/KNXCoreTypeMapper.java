@@ -13,8 +13,6 @@
 package org.openhab.binding.knx.internal.dpt;
 
 import java.math.BigDecimal;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
@@ -24,6 +22,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.smarthome.core.library.types.DateTimeType;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -68,6 +67,7 @@ import tuwien.auto.calimero.dptxlator.DPTXlatorString;
 import tuwien.auto.calimero.dptxlator.DPTXlatorTime;
 import tuwien.auto.calimero.dptxlator.DPTXlatorUtf8;
 import tuwien.auto.calimero.dptxlator.TranslatorTypes;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes.MainType;
 
 /**
  * This class provides type mapping between all openHAB core types and KNX data point types.
@@ -95,6 +95,31 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     private static final String TIME_DAY_FORMAT = new String("EEE, HH:mm:ss");
     private static final String DATE_FORMAT = new String("yyyy-MM-dd");
 
+    /** stores the resolved datapoint type for each datapoint type id used so far */
+    private static final Map<String, ResolvedDPT> RESOLVED_DPTS = new ConcurrentHashMap<>();
+
+    /**
+     * A datapoint type id resolved to its calimero datapoint type, the factory for its translators and its main and
+     * sub number.
+     */
+    private static class ResolvedDPT {
+        final DPT dpt;
+        final MainType mainType;
+        final int mainNumber;
+        final int subNumber;
+
+        ResolvedDPT(DPT dpt, MainType mainType, int mainNumber, int subNumber) {
+            this.dpt = dpt;
+            this.mainType = mainType;
+            this.mainNumber = mainNumber;
+            this.subNumber = subNumber;
+        }
+
+        DPTXlator createTranslator() throws KNXException {
+            return mainType.createTranslator(dpt);
+        }
+    }
+
     /**
      * stores the openHAB type class for (supported) KNX datapoint types in a generic way.
      * dptTypeMap stores more specific type class and exceptions.
@@ -574,24 +599,16 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     @Override
     public String toDPTValue(Type type, String dptID) {
 
-        DPT dpt;
-        int mainNumber = getMainNumber(dptID);
-        if (mainNumber == -1) {
-            logger.error("toDPTValue couldn't identify mainnumber in dptID: {}", dptID);
-            return null;
-        }
-        int subNumber = getSubNumber(dptID);
-        if (subNumber == -1) {
-            logger.debug("toType: couldn't identify sub number in dptID: {}.", dptID);
-            return null;
-        }
-
+        ResolvedDPT resolvedDPT;
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(mainNumber, dptID);
-            dpt = translator.getType();
+            resolvedDPT = resolveDPT(dptID);
         } catch (KNXException e) {
+            logger.debug("toDPTValue couldn't resolve dptID {}: {}", dptID, e.getMessage());
             return null;
         }
+        DPT dpt = resolvedDPT.dpt;
+        int mainNumber = resolvedDPT.mainNumber;
+        int subNumber = resolvedDPT.subNumber;
 
         try {
             // check for HSBType first, because it extends PercentType as well
@@ -675,44 +692,27 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
-            translator.setData(data);
-            String value = translator.getValue();
-
-            String id = translator.getType().getID();
             logger.trace("toType datapoint DPT = {}", datapoint.getDPT());
+            ResolvedDPT resolvedDPT = resolveDPT(datapoint.getDPT());
 
-            int mainNumber = getMainNumber(id);
-            if (mainNumber == -1) {
-                logger.debug("toType: couldn't identify mainnumber in dptID: {}.", id);
-                return null;
-            }
-            int subNumber = getSubNumber(id);
-            if (subNumber == -1) {
-                logger.debug("toType: couldn't identify sub number in dptID: {}.", id);
-                return null;
+            Type decodedType = decode(resolvedDPT, data);
+            if (decodedType != null) {
+                return decodedType;
             }
+
+            DPTXlator translator = resolvedDPT.createTranslator();
+            translator.setData(data);
+            String value = translator.getValue();
+
+            String id = resolvedDPT.dpt.getID();
+            int mainNumber = resolvedDPT.mainNumber;
+            int subNumber = resolvedDPT.subNumber;
             /*
              * Following code section deals with specific mapping of values from KNX to openHAB types were the String
-             * received from the DPTXlator is not sufficient to set the openHAB type or has bugs
+             * received from the DPTXlator is not sufficient to set the openHAB type or has bugs. DPT 1.x and 14.x are
+             * handled by decode().
              */
             switch (mainNumber) {
-                case 1:
-                    DPTXlatorBoolean translatorBoolean = (DPTXlatorBoolean) translator;
-                    switch (subNumber) {
-                        case 8:
-                            return translatorBoolean.getValueBoolean() ? UpDownType.DOWN : UpDownType.UP;
-                        case 9:
-                            return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
-                        case 10:
-                            return translatorBoolean.getValueBoolean() ? StopMoveType.MOVE : StopMoveType.STOP;
-                        case 19:
-                            return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
-                        case 22:
-                            return DecimalType.valueOf(translatorBoolean.getValueBoolean() ? "1" : "0");
-                        default:
-                            return translatorBoolean.getValueBoolean() ? OnOffType.ON : OnOffType.OFF;
-                    }
                 case 2:
                     DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
                     int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
@@ -731,27 +731,6 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
                         case 8:
                             return translator3BitControlled.getControlBit() ? UpDownType.DOWN : UpDownType.UP;
                     }
-                case 14:
-                    /*
-                     * FIXME: Workaround for a bug in Calimero / Openhab DPTXlator4ByteFloat.makeString(): is using a
-                     * locale when
-                     * translating a Float to String. It could happen the a ',' is used as separator, such as
-                     * 3,14159E20.
-                     * Openhab's DecimalType expects this to be in US format and expects '.': 3.14159E20.
-                     * There is no issue with DPTXlator2ByteFloat since calimero is using a non-localized translation
-                     * there.
-                     */
-                    DPTXlator4ByteFloat translator4ByteFloat = (DPTXlator4ByteFloat) translator;
-                    Float f = translator4ByteFloat.getValueFloat();
-                    if (Math.abs(f) < 100000) {
-                        value = String.valueOf(f);
-                    } else {
-                        NumberFormat dcf = NumberFormat.getInstance(Locale.US);
-                        if (dcf instanceof DecimalFormat) {
-                            ((DecimalFormat) dcf).applyPattern("0.#####E0");
-                        }
-                        value = dcf.format(f);
-                    }
                     break;
                 case 18:
                     DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
@@ -814,7 +793,7 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
                     break;
             }
 
-            Class<? extends Type> typeClass = toTypeClass(id);
+            Class<? extends Type> typeClass = toTypeClass(id, mainNumber);
             if (typeClass == null) {
                 return null;
             }
@@ -861,6 +840,98 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         return null;
     }
 
+    /**
+     * Resolves a datapoint type id. The result is cached, so that the id only has to be looked up and parsed once.
+     *
+     * @param dptID the datapoint type id
+     * @return the resolved datapoint type
+     * @throws KNXException if there is no translator for the datapoint type id
+     */
+    private ResolvedDPT resolveDPT(String dptID) throws KNXException {
+        ResolvedDPT resolvedDPT = RESOLVED_DPTS.get(dptID);
+        if (resolvedDPT == null) {
+            DPT dpt = TranslatorTypes.createTranslator(0, dptID).getType();
+            int mainNumber = getMainNumber(dpt.getID());
+            int subNumber = getSubNumber(dpt.getID());
+            MainType mainType = TranslatorTypes.getMainType(mainNumber);
+            if (mainType == null || subNumber == -1) {
+                throw new KNXException("couldn't identify main and/or sub number in dptID " + dpt.getID());
+            }
+            resolvedDPT = new ResolvedDPT(dpt, mainType, mainNumber, subNumber);
+            RESOLVED_DPTS.put(dptID, resolvedDPT);
+        }
+        return resolvedDPT;
+    }
+
+    /**
+     * Decodes the data of the most common datapoint types (1.x, 5.x, 9.x and 14.x) directly, without creating a
+     * translator and going through its string value. The results equal the ones of the calimero translators.
+     *
+     * @param resolvedDPT the datapoint type
+     * @param data the ASDU
+     * @return the openHAB type or {@code null} if the data is not decoded directly
+     */
+    private Type decode(ResolvedDPT resolvedDPT, byte[] data) {
+        switch (resolvedDPT.mainNumber) {
+            case 1:
+                if (data.length < 1) {
+                    return null;
+                }
+                boolean value = (data[0] & 0x01) != 0;
+                switch (resolvedDPT.subNumber) {
+                    case 8:
+                        return value ? UpDownType.DOWN : UpDownType.UP;
+                    case 9:
+                    case 19:
+                        return value ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                    case 10:
+                        return value ? StopMoveType.MOVE : StopMoveType.STOP;
+                    case 22:
+                        return DecimalType.valueOf(value ? "1" : "0");
+                    default:
+                        return value ? OnOffType.ON : OnOffType.OFF;
+                }
+            case 5:
+                if (data.length < 1) {
+                    return null;
+                }
+                int unsigned = data[0] & 0xFF;
+                if (resolvedDPT.dpt.equals(DPTXlator8BitUnsigned.DPT_SCALING)) {
+                    return toNumericType(resolvedDPT, unsigned * 100.0 / 255);
+                } else if (resolvedDPT.dpt.equals(DPTXlator8BitUnsigned.DPT_ANGLE)) {
+                    return toNumericType(resolvedDPT, unsigned * 360.0 / 255);
+                }
+                return toNumericType(resolvedDPT, unsigned);
+            case 9:
+                if (data.length < 2) {
+                    return null;
+                }
+                // MEEEEMMM MMMMMMMM: 12 bit signed mantissa, 4 bit exponent, resolution 0.01
+                int mantissa = ((data[0] & 0x80) << 24 | (data[0] & 0x07) << 28 | (data[1] & 0xFF) << 20) >> 20;
+                int exponent = (data[0] & 0x78) >> 3;
+                return toNumericType(resolvedDPT, (1 << exponent) * mantissa * 0.01);
+            case 14:
+                if (data.length < 4) {
+                    return null;
+                }
+                int bits = (data[0] & 0xFF) << 24 | (data[1] & 0xFF) << 16 | (data[2] & 0xFF) << 8 | (data[3] & 0xFF);
+                return toNumericType(resolvedDPT, Float.intBitsToFloat(bits));
+            default:
+                return null;
+        }
+    }
+
+    private Type toNumericType(ResolvedDPT resolvedDPT, double value) {
+        Class<? extends Type> typeClass = toTypeClass(resolvedDPT.dpt.getID(), resolvedDPT.mainNumber);
+        if (PercentType.class.equals(typeClass)) {
+            return new PercentType(BigDecimal.valueOf(Math.round(value)));
+        }
+        if (DecimalType.class.equals(typeClass)) {
+            return new DecimalType(value);
+        }
+        return null;
+    }
+
     /**
      * Converts a datapoint type id into an openHAB type class
      *
@@ -881,6 +952,11 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         return ohClass;
     }
 
+    private Class<? extends Type> toTypeClass(String dptId, int mainNumber) {
+        Class<? extends Type> ohClass = dptTypeMap.get(dptId);
+        return ohClass != null ? ohClass : dptMainTypeMap.get(mainNumber);
+    }
+
     /**
      * Converts an openHAB type class into a datapoint type id.
      *
@@ -54,6 +54,7 @@ import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusPollerThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusPollerThingHandlerImpl;
 import org.openhab.binding.modbus.internal.handler.ModbusTcpThingHandler;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
 import org.openhab.io.transport.modbus.BitArray;
 import org.openhab.io.transport.modbus.ModbusManager;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
@@ -498,6 +499,74 @@ public class ModbusPollerThingHandlerTest {
         verifyNoMoreInteractions(child2);
     }
 
+    @Test
+    public void testUnchangedRegistersNotPassedToChildDataThings()
+            throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+        Configuration pollerConfig = new Configuration();
+        pollerConfig.put("refresh", 150L);
+        pollerConfig.put("start", 5);
+        pollerConfig.put("length", 3);
+        pollerConfig.put("type", "holding");
+        poller = createPollerThingBuilder("poller").withConfiguration(pollerConfig).withBridge(endpoint.getUID())
+                .build();
+        registerThingToMockRegistry(poller);
+
+        hookStatusUpdates(poller);
+
+        ModbusPollerThingHandlerImpl thingHandler = new ModbusPollerThingHandlerImpl(poller, () -> modbusManager);
+        thingHandler.setCallback(thingCallback);
+        poller.setHandler(thingHandler);
+        hookItemRegistry(thingHandler);
+
+        thingHandler.initialize();
+        assertThat(poller.getStatus(), is(equalTo(ThingStatus.ONLINE)));
+
+        ArgumentCaptor<PollTask> pollTaskCapturer = ArgumentCaptor.forClass(PollTask.class);
+        verify(modbusManager).registerRegularPoll(pollTaskCapturer.capture(), eq(150l), eq(0L));
+        ModbusReadCallback readCallback = pollTaskCapturer.getValue().getCallback();
+
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusRegisterArray registers1 = new BasicModbusRegisterArray(1, 2, 3);
+        ModbusRegisterArray registers2 = new BasicModbusRegisterArray(1, 2, 4);
+
+        ModbusDataThingHandler child1 = Mockito.mock(ModbusDataThingHandler.class);
+        ModbusDataThingHandler child2 = Mockito.mock(ModbusDataThingHandler.class);
+        ModbusDataThingHandler child3 = Mockito.mock(ModbusDataThingHandler.class);
+        thingHandler.childHandlerInitialized(child1, Mockito.mock(Thing.class));
+        thingHandler.childHandlerInitialized(child2, Mockito.mock(Thing.class));
+        thingHandler.childHandlerInitialized(child3, Mockito.mock(Thing.class));
+
+        // first poll is passed to all children
+        readCallback.onRegisters(request, registers1);
+        verify(child1).onRegisters(request, registers1);
+        verify(child2).onRegisters(request, registers1);
+        verify(child3).onRegisters(request, registers1);
+
+        long freshUntil = System.currentTimeMillis() + 60_000L;
+        // child1 reads first two registers, child2 the last register, child3 has not declared its range
+        thingHandler.updateChildReadRange(child1, 0, 2, freshUntil);
+        thingHandler.updateChildReadRange(child2, 2, 1, freshUntil);
+
+        // last register changed
+        readCallback.onRegisters(request, registers2);
+        verify(child1, never()).onRegisters(request, registers2);
+        verify(child2).onRegisters(request, registers2);
+        verify(child3).onRegisters(request, registers2);
+
+        // child1 is no longer fresh
+        thingHandler.updateChildReadRange(child1, 0, 2, 0L);
+        readCallback.onRegisters(request, registers1);
+        verify(child1, times(2)).onRegisters(request, registers1);
+        verify(child2, times(2)).onRegisters(request, registers1);
+
+        // error resets change detection
+        readCallback.onError(request, new Exception("error"));
+        thingHandler.updateChildReadRange(child1, 0, 2, freshUntil);
+        readCallback.onRegisters(request, registers1);
+        verify(child1, times(3)).onRegisters(request, registers1);
+        verify(child2, times(3)).onRegisters(request, registers1);
+    }
+
     @Test
     public void testErrorPassedToChildDataThings()
             throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
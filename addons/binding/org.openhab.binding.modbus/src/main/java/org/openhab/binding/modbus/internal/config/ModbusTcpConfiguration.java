@@ -32,6 +32,7 @@ public class ModbusTcpConfiguration {
     private int connectMaxTries;
     private int reconnectAfterMillis;
     private int connectTimeoutMillis;
+    private int maxOutstandingTransactions;
 
     public @Nullable String getHost() {
         return host;
@@ -97,4 +98,12 @@ public class ModbusTcpConfiguration {
         this.connectTimeoutMillis = connectTimeoutMillis;
     }
 
+    public int getMaxOutstandingTransactions() {
+        return maxOutstandingTransactions;
+    }
+
+    public void setMaxOutstandingTransactions(int maxOutstandingTransactions) {
+        this.maxOutstandingTransactions = maxOutstandingTransactions;
+    }
+
 }
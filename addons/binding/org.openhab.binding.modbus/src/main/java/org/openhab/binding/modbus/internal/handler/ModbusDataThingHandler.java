@@ -145,6 +145,15 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
     private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
     private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    /**
+     * Raw bits of the last polled value, see {@link ModbusBitUtilities#extractRawFromRegisters}
+     */
+    private volatile long lastRawValue;
+    private volatile boolean hasLastRawValue;
+    /**
+     * Time (in epoch milliseconds) until which none of the value channels needs to be updated with unchanged value
+     */
+    private volatile long unchangedValueFreshUntilMillis;
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
@@ -390,6 +399,8 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
 
     @Override
     public synchronized void dispose() {
+        // deliver all data to this handler after re-initialization
+        updatePollerReadRange(0L);
         config = null;
         readValueType = null;
         writeValueType = null;
@@ -413,6 +424,16 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
         channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
         channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        hasLastRawValue = false;
+        unchangedValueFreshUntilMillis = 0L;
+    }
+
+    @Override
+    public synchronized void channelLinked(ChannelUID channelUID) {
+        // newly linked channel must receive the value on next poll, even if the value is unchanged
+        hasLastRawValue = false;
+        updatePollerReadRange(0L);
+        super.channelLinked(channelUID);
     }
 
     @Override
@@ -674,6 +695,13 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
             int itemsPerRegister = 16 / readValueType.getBits();
             extractIndex = (readIndex.get() - pollStart) * itemsPerRegister + subIndex;
         }
+        long rawValue = ModbusBitUtilities.extractRawFromRegisters(registers, extractIndex, readValueType);
+        if (isUnchangedAndFresh(rawValue)) {
+            updateUnchangedValue();
+            logger.trace("Thing {} value unchanged, skipping update of value channels. Registers {} for request {}",
+                    thing.getUID(), registers, request);
+            return;
+        }
         numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType);
         boolean boolValue = !numericState.equals(DecimalType.ZERO);
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
@@ -691,6 +719,12 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
             return;
         }
         boolean boolValue = bits.getBit(readIndex.get() - pollStart);
+        if (isUnchangedAndFresh(boolValue ? 1L : 0L)) {
+            updateUnchangedValue();
+            logger.trace("Thing {} value unchanged, skipping update of value channels. Bits {} for request {}",
+                    thing.getUID(), bits, request);
+            return;
+        }
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
         logger.debug(
@@ -717,6 +751,7 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
                     getThing().getUID(), getThing().getLabel(), error.getClass().getName(), error.toString(),
                     error.getMessage(), error);
         }
+        hasLastRawValue = false;
         Map<@NonNull ChannelUID, @NonNull State> states = new HashMap<>();
         ChannelUID lastReadErrorUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_ERROR);
         if (isLinked(lastReadErrorUID)) {
@@ -863,6 +898,70 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
             // Update channels that have not been updated in a while, or when their values has changed
             states.forEach((uid, state) -> updateExpiredChannel(now, uid, state));
             channelLastState = states;
+
+            // Value channels are fresh until the least recently updated one expires
+            ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
+            long oldestUpdateMillis = now;
+            for (ChannelUID uid : states.keySet()) {
+                if (!uid.equals(lastReadSuccessUID)) {
+                    oldestUpdateMillis = Math.min(oldestUpdateMillis, channelLastUpdated.getOrDefault(uid, 0L));
+                }
+            }
+            unchangedValueFreshUntilMillis = updateUnchangedValuesEveryMillis <= 0L ? 0L
+                    : oldestUpdateMillis + updateUnchangedValuesEveryMillis;
+            // last read success channel is updated on every poll
+            updatePollerReadRange(isLinked(lastReadSuccessUID) ? 0L : unchangedValueFreshUntilMillis);
+        }
+    }
+
+    /**
+     * Let the poller know which registers (or bits) this thing reads, so that unchanged data is not delivered to this
+     * thing while channels are fresh
+     *
+     * @param freshUntilMillis time (in epoch milliseconds) until which unchanged data need not be delivered
+     */
+    private void updatePollerReadRange(long freshUntilMillis) {
+        ModbusPollerThingHandler pollerHandler = this.pollerHandler;
+        ValueType readValueType = this.readValueType;
+        if (pollerHandler == null || readValueType == null || !isReadEnabled || !readIndex.isPresent()) {
+            return;
+        }
+        int start = readIndex.get() - pollStart;
+        // types shorter than a register (or a bit of coil data) occupy one register (or bit)
+        int length = Math.max(1, readValueType.getBits() / 16);
+        pollerHandler.updateChildReadRange(this, start, length, freshUntilMillis);
+    }
+
+    /**
+     * Check whether polled value is the same as last time, and all value channels are still fresh.
+     *
+     * In that case the value channels would not be updated, and converting and transforming the value can be skipped
+     * altogether. Transformations are assumed to produce the same output given the same input.
+     *
+     * @param rawValue raw bits of the polled value
+     * @return whether update of value channels can be skipped
+     */
+    private boolean isUnchangedAndFresh(long rawValue) {
+        if (hasLastRawValue && lastRawValue == rawValue
+                && System.currentTimeMillis() <= unchangedValueFreshUntilMillis) {
+            return true;
+        }
+        lastRawValue = rawValue;
+        hasLastRawValue = true;
+        return false;
+    }
+
+    /**
+     * Update status and last read success channel, when the update of value channels is skipped
+     */
+    private void updateUnchangedValue() {
+        updateStatusIfChanged(ThingStatus.ONLINE);
+        ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
+        if (isLinked(lastReadSuccessUID)) {
+            DateTimeType lastReadSuccess = new DateTimeType();
+            tryUpdateState(lastReadSuccessUID, lastReadSuccess);
+            channelLastUpdated.put(lastReadSuccessUID, System.currentTimeMillis());
+            channelLastState.put(lastReadSuccessUID, lastReadSuccess);
         }
     }
 
@@ -17,6 +17,7 @@ import java.util.function.Supplier;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.io.transport.modbus.ModbusManager;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
 import org.openhab.io.transport.modbus.PollTask;
 
 /**
@@ -49,4 +50,18 @@ public interface ModbusPollerThingHandler {
      */
     public void refresh();
 
+    /**
+     * Declare which part of the polled data a child reads, and until when the channels of the child are fresh.
+     *
+     * Poll results are delivered to such a child only when the declared part of the data has changed, or when the
+     * data is no longer fresh. Children that have not declared their read range receive every poll result.
+     *
+     * @param child child data thing
+     * @param start index of the first register (or bit) read by the child, relative to the start of the poll
+     * @param length number of registers (or bits) read by the child
+     * @param freshUntilMillis time (in epoch milliseconds) until which unchanged data need not be delivered to the
+     *            child. Use 0 to receive every poll result
+     */
+    public void updateChildReadRange(ModbusReadCallback child, int start, int length, long freshUntilMillis);
+
 }
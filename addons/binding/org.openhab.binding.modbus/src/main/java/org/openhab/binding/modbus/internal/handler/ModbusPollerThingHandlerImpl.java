@@ -14,7 +14,9 @@ package org.openhab.binding.modbus.internal.handler;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -75,6 +77,11 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
         private volatile @Nullable AtomicStampedKeyValue<ModbusReadRequestBlueprint, ModbusRegisterArray> lastRegisters;
         private volatile @Nullable AtomicStampedKeyValue<ModbusReadRequestBlueprint, BitArray> lastCoils;
         private volatile @Nullable AtomicStampedKeyValue<ModbusReadRequestBlueprint, Exception> lastError;
+        /**
+         * Contents of the previous successful poll, used to detect which children see changed data. Registers are
+         * stored as unsigned 16 bit values, bits as 0 or 1
+         */
+        private volatile int @Nullable [] previousValues;
 
         @Override
         public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
@@ -92,7 +99,18 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
             }
             logger.debug("Thing {} received registers {} for request {}", thing.getUID(), registers, request);
             resetCommunicationError();
-            childCallbacks.forEach(handler -> handler.onRegisters(request, registers));
+            int[] values = new int[registers.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = registers.getUnsignedShort(i);
+            }
+            int @Nullable [] previousValues = this.previousValues;
+            this.previousValues = values;
+            long now = System.currentTimeMillis();
+            childCallbacks.forEach(handler -> {
+                if (!isUnchangedForChild(handler, previousValues, values, now)) {
+                    handler.onRegisters(request, registers);
+                }
+            });
         }
 
         @Override
@@ -111,7 +129,18 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
             }
             logger.debug("Thing {} received coils {} for request {}", thing.getUID(), coils, request);
             resetCommunicationError();
-            childCallbacks.forEach(handler -> handler.onBits(request, coils));
+            int[] values = new int[coils.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = coils.getBit(i) ? 1 : 0;
+            }
+            int @Nullable [] previousValues = this.previousValues;
+            this.previousValues = values;
+            long now = System.currentTimeMillis();
+            childCallbacks.forEach(handler -> {
+                if (!isUnchangedForChild(handler, previousValues, values, now)) {
+                    handler.onBits(request, coils);
+                }
+            });
         }
 
         @Override
@@ -129,11 +158,38 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
                 }
             }
             logger.debug("Thing {} received error {} for request {}", thing.getUID(), error, request);
+            // deliver next successful poll to all children
+            previousValues = null;
             childCallbacks.forEach(handler -> handler.onError(request, error));
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
                     String.format("Error with read: %s: %s", error.getClass().getName(), error.getMessage()));
         }
 
+        /**
+         * Check whether the part of data read by the child is unchanged since previous poll, and the channels of the
+         * child are still fresh.
+         *
+         * @param child child callback
+         * @param previousValues values of the previous poll, or null if not available
+         * @param values values of the current poll
+         * @param now current time in epoch milliseconds
+         * @return whether delivering the data to the child can be skipped
+         */
+        private boolean isUnchangedForChild(ModbusReadCallback child, int @Nullable [] previousValues, int[] values,
+                long now) {
+            ChildReadRange range = childReadRanges.get(child);
+            if (range == null || previousValues == null || previousValues.length != values.length
+                    || now > range.freshUntilMillis || range.start < 0 || range.start + range.length > values.length) {
+                return false;
+            }
+            for (int i = range.start; i < range.start + range.length; i++) {
+                if (previousValues[i] != values[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         private void resetCommunicationError() {
             ThingStatusInfo statusInfo = thing.getStatusInfo();
             if (ThingStatus.OFFLINE.equals(statusInfo.getStatus())
@@ -216,6 +272,25 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
             lastRegisters = null;
             lastCoils = null;
             lastError = null;
+            previousValues = null;
+        }
+    }
+
+    /**
+     * Part of the polled data read by a child, see {@link #updateChildReadRange(ModbusReadCallback, int, int, long)}
+     *
+     * @author agent - Initial contribution
+     *
+     */
+    private static class ChildReadRange {
+        private final int start;
+        private final int length;
+        private final long freshUntilMillis;
+
+        private ChildReadRange(int start, int length, long freshUntilMillis) {
+            this.start = start;
+            this.length = length;
+            this.freshUntilMillis = freshUntilMillis;
         }
     }
 
@@ -255,6 +330,7 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
     private Supplier<ModbusManager> managerRef;
     private volatile boolean disposed;
     private volatile List<ModbusReadCallback> childCallbacks = new CopyOnWriteArrayList<>();
+    private final Map<ModbusReadCallback, ChildReadRange> childReadRanges = new ConcurrentHashMap<>();
 
     private ReadCallbackDelegator callbackDelegator = new ReadCallbackDelegator();
 
@@ -400,6 +476,7 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
     @Override
     public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
         if (childHandler instanceof ModbusReadCallback) {
+            this.childReadRanges.remove(childHandler);
             this.childCallbacks.add((ModbusReadCallback) childHandler);
         }
     }
@@ -409,6 +486,14 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
     public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
         if (childHandler instanceof ModbusReadCallback) {
             this.childCallbacks.remove(childHandler);
+            this.childReadRanges.remove(childHandler);
+        }
+    }
+
+    @Override
+    public void updateChildReadRange(ModbusReadCallback child, int start, int length, long freshUntilMillis) {
+        if (childCallbacks.contains(child)) {
+            childReadRanges.put(child, new ChildReadRange(start, length, freshUntilMillis));
         }
     }
 
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link PresenceProbeEngine}
+ *
+ * @author agent - Initial contribution
+ */
+public class PresenceProbeEngineTest {
+    private final PresenceProbeEngine subject = new PresenceProbeEngine(4);
+
+    @Test
+    public void identicalProbesArePerformedOnce() throws Exception {
+        AtomicInteger probes = new AtomicInteger();
+        CountDownLatch probeStarted = new CountDownLatch(1);
+        CountDownLatch finishProbe = new CountDownLatch(1);
+        PresenceProbeEngine.Probe probe = () -> {
+            probes.incrementAndGet();
+            probeStarted.countDown();
+            finishProbe.await();
+            return true;
+        };
+
+        ExecutorService executor = subject.createDetectionExecutor();
+        Future<Boolean> first = executor.submit(() -> subject.probe("icmp 10.0.0.1", probe));
+        assertTrue(probeStarted.await(1, TimeUnit.SECONDS));
+        Future<Boolean> second = executor.submit(() -> subject.probe("icmp 10.0.0.1", probe));
+        // give the second probe time to find the running one
+        Thread.sleep(100);
+        finishProbe.countDown();
+
+        assertTrue(first.get(1, TimeUnit.SECONDS));
+        assertTrue(second.get(1, TimeUnit.SECONDS));
+        assertThat(probes.get(), is(1));
+
+        // the probe is performed again once the first one has finished
+        assertTrue(subject.probe("icmp 10.0.0.1", probe));
+        assertThat(probes.get(), is(2));
+    }
+
+    @Test
+    public void differentProbesAreIndependent() throws Exception {
+        AtomicInteger probes = new AtomicInteger();
+        assertTrue(subject.probe("tcp 10.0.0.1:80", () -> probes.incrementAndGet() > 0));
+        assertTrue(subject.probe("tcp 10.0.0.1:443", () -> probes.incrementAndGet() > 0));
+        assertThat(probes.get(), is(2));
+    }
+
+    @Test(expected = IOException.class)
+    public void probeFailureIsPassedOn() throws Exception {
+        subject.probe("arp eth0 10.0.0.1", () -> {
+            throw new IOException("arping not found");
+        });
+    }
+
+    @Test
+    public void shutdownNowCancelsOnlyOwnTasks() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService detection1 = subject.createDetectionExecutor();
+        ExecutorService detection2 = subject.createDetectionExecutor();
+        Future<?> task1 = detection1.submit(() -> {
+            release.await();
+            return null;
+        });
+        Future<?> task2 = detection2.submit(() -> {
+            release.await();
+            return null;
+        });
+
+        detection1.shutdownNow();
+
+        assertTrue(detection1.awaitTermination(1, TimeUnit.SECONDS));
+        assertTrue(task1.isCancelled());
+        assertFalse(detection2.isShutdown());
+        assertFalse(task2.isDone());
+
+        release.countDown();
+        task2.get(1, TimeUnit.SECONDS);
+        detection2.shutdown();
+        assertTrue(detection2.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void queuedChecksDoNotUseUpTheTimeout() throws Exception {
+        // slow checks of other detections occupy all threads for longer than the timeout
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService slowDetection = subject.createDetectionExecutor();
+        for (int i = 0; i < 8; i++) {
+            slowDetection.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+            });
+        }
+        AtomicInteger checks = new AtomicInteger();
+        ExecutorService detection = subject.createDetectionExecutor();
+        Future<?> check = detection.submit(() -> checks.incrementAndGet());
+        detection.shutdown();
+        new Thread(() -> {
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException ignored) {
+            }
+            release.countDown();
+        }).start();
+
+        assertTrue(detection.awaitTermination(100, TimeUnit.MILLISECONDS));
+        assertFalse(check.isCancelled());
+        assertThat(checks.get(), is(1));
+    }
+
+    @Test
+    public void awaitTerminationTimesOutWithoutShutdown() throws InterruptedException {
+        ExecutorService detection = subject.createDetectionExecutor();
+        detection.execute(() -> {
+        });
+        assertFalse(detection.awaitTermination(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void tasksAreRejectedAfterShutdown() {
+        ExecutorService detection = subject.createDetectionExecutor();
+        detection.shutdown();
+        detection.execute(() -> {
+        });
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link TcpSweep}
+ *
+ * @author agent - Initial contribution
+ */
+public class TcpSweepTest {
+    private final String ip = "127.0.0.1";
+    private ServerSocket openPort;
+    private int closedPort;
+
+    @Before
+    public void setUp() throws IOException {
+        openPort = new ServerSocket(0, 50, InetAddress.getByName(ip));
+        try (ServerSocket socket = new ServerSocket(0, 50, InetAddress.getByName(ip))) {
+            closedPort = socket.getLocalPort();
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        openPort.close();
+    }
+
+    @Test
+    public void reachableServicesAreReported() throws IOException {
+        List<String> found = new ArrayList<>();
+        TcpSweep sweep = new TcpSweep(1, 1000, 500);
+
+        sweep.run(Arrays.asList(ip, ip), Arrays.asList(openPort.getLocalPort(), closedPort),
+                (host, port) -> found.add(host + ":" + port));
+
+        assertThat(found, is(Arrays.asList(ip + ":" + openPort.getLocalPort(), ip + ":" + openPort.getLocalPort())));
+    }
+
+    @Test
+    public void answeredConnectionsFreeTheirSlot() throws Exception {
+        // a listener with a full backlog never answers further connection attempts
+        try (ServerSocket fullPort = new ServerSocket(0, 1, InetAddress.getByName(ip));
+                Socket filler1 = new Socket();
+                Socket filler2 = new Socket()) {
+            filler1.connect(new InetSocketAddress(ip, fullPort.getLocalPort()));
+            filler2.connect(new InetSocketAddress(ip, fullPort.getLocalPort()));
+            List<Integer> ports = new ArrayList<>();
+            ports.add(fullPort.getLocalPort());
+            ports.addAll(Collections.nCopies(10, openPort.getLocalPort()));
+            List<Long> foundNanos = new ArrayList<>();
+            TcpSweep sweep = new TcpSweep(2, 1000, 2000);
+
+            long start = System.nanoTime();
+            sweep.run(Collections.singleton(ip), ports, (host, port) -> foundNanos.add(System.nanoTime()));
+
+            // the unanswered connection blocks one slot until it times out, the other slot is reused at once
+            assertThat(foundNanos.size(), is(10));
+            assertTrue(foundNanos.get(9) - start < TimeUnit.MILLISECONDS.toNanos(1000));
+        }
+    }
+
+    @Test
+    public void stopEndsSweep() throws Exception {
+        // one connection per second, the sweep would take 100 seconds
+        TcpSweep sweep = new TcpSweep(10, 1, 500);
+        CountDownLatch finished = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            try {
+                sweep.run(Collections.nCopies(100, ip), Collections.singleton(closedPort), (host, port) -> {
+                });
+            } catch (IOException ignored) {
+            }
+            finished.countDown();
+        });
+        thread.start();
+        Thread.sleep(100);
+
+        sweep.stop();
+
+        assertTrue(finished.await(1, TimeUnit.SECONDS));
+    }
+}
@@ -20,7 +20,6 @@ import java.net.UnknownHostException;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -51,6 +50,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     public static final int DESTINATION_TTL = 300 * 1000; // in ms, 300 s
 
     NetworkUtils networkUtils = new NetworkUtils();
+    PresenceProbeEngine probeEngine = PresenceProbeEngine.getInstance();
     private final Logger logger = LoggerFactory.getLogger(PresenceDetection.class);
 
     /// Configuration variables
@@ -66,6 +66,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     private long refreshIntervalInMS = 60000;
     private int timeoutInMS = 5000;
     private long lastSeenInMS;
+    private long detectionStartInMS;
 
     private @NonNullByDefault({}) String hostname;
     private @NonNullByDefault({}) ExpiringCache<@Nullable InetAddress> destination;
@@ -271,14 +272,19 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
+    /**
+     * Return an executor for the given amount of checks. The checks of all presence detections
+     * share the bounded thread pool of the {@link PresenceProbeEngine}.
+     */
     public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
+        return probeEngine.createDetectionExecutor();
     }
 
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. The checks are executed by the shared
+     * {@link PresenceProbeEngine}, identical checks of other presence detections are
+     * performed only once.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -321,6 +327,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
         final ExecutorService executorService = getThreadsFor(detectionChecks);
         this.executorService = executorService;
+        detectionStartInMS = System.currentTimeMillis();
 
         for (Integer tcpPort : tcpPorts) {
             executorService.execute(() -> {
@@ -390,7 +397,9 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
         // The cache will be expired by now if cache_time < timeoutInMS. But the device might be actually reachable.
         // Therefore use lastSeenInMS here and not cache.isExpired() to determine if we got a ping response.
-        if (lastSeenInMS + timeoutInMS + 100 < System.currentTimeMillis()) {
+        // The checks may have waited for a free thread of the shared probe engine, so compare with the start of the
+        // detection and not with the timeout.
+        if (lastSeenInMS < detectionStartInMS) {
             // We haven't seen the device in the detection process
             v = new PresenceDetectionValue(hostname, -1);
         } else {
@@ -470,8 +479,12 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         try {
             double pingTime = System.nanoTime();
             InetAddress destinationAddress = destination.getValue();
-            if (destinationAddress != null
-                    && networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeoutInMS)) {
+            if (destinationAddress == null) {
+                return;
+            }
+            String host = destinationAddress.getHostAddress();
+            if (probeEngine.probe("tcp " + host + ":" + tcpPort,
+                    () -> networkUtils.servicePing(host, tcpPort, timeoutInMS))) {
                 final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
                 PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION, latency);
                 v.addReachableTcpService(tcpPort);
@@ -480,6 +493,8 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         } catch (IOException e) {
             // This should not happen and might be a user configuration issue, we log a warning message therefore.
             logger.warn("Could not create a socket connection", e);
+        } catch (InterruptedException ignored) {
+            // This can be ignored, the thread will end anyway
         }
     }
 
@@ -503,8 +518,9 @@ public class PresenceDetection implements IPRequestReceivedCallback {
                 Thread.sleep(50);
             }
             double pingTime = System.nanoTime();
-            if (networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName,
-                    destinationAddress.getHostAddress(), timeoutInMS)) {
+            String host = destinationAddress.getHostAddress();
+            if (probeEngine.probe("arp " + interfaceName + " " + host, () -> networkUtils
+                    .nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName, host, timeoutInMS))) {
                 final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
                 PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_PING, latency);
                 updateListener.partialDetectionResult(v);
@@ -530,13 +546,16 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             if (destinationAddress == null) {
                 return;
             }
-            if (destinationAddress.isReachable(timeoutInMS)) {
+            InetAddress address = destinationAddress;
+            if (probeEngine.probe("java " + address.getHostAddress(), () -> address.isReachable(timeoutInMS))) {
                 final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
                 PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING, latency);
                 updateListener.partialDetectionResult(v);
             }
         } catch (IOException e) {
             logger.trace("Failed to execute a java ping for ip {}", hostname, e);
+        } catch (InterruptedException ignored) {
+            // This can be ignored, the thread will end anyway
         }
     }
 
@@ -548,7 +567,9 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             if (destinationAddress == null) {
                 return;
             }
-            if (networkUtils.nativePing(pingMethod, destinationAddress.getHostAddress(), timeoutInMS)) {
+            String host = destinationAddress.getHostAddress();
+            IpPingMethodEnum method = pingMethod;
+            if (probeEngine.probe("icmp " + host, () -> networkUtils.nativePing(method, host, timeoutInMS))) {
                 final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
                 PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING, latency);
                 updateListener.partialDetectionResult(v);
@@ -0,0 +1,253 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.NamedThreadFactory;
+
+/**
+ * The {@link PresenceProbeEngine} executes the probes of all {@link PresenceDetection}s of the binding.
+ *
+ * All probes run on one bounded thread pool, instead of a new thread pool for every presence detection. Identical
+ * probes (same method, host, port or interface) requested at the same time, e.g. by several things monitoring the
+ * same host, are only performed once and share their result.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PresenceProbeEngine {
+    public static final int MAX_THREADS = 16;
+    private static final int THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private static final PresenceProbeEngine INSTANCE = new PresenceProbeEngine(MAX_THREADS);
+
+    private final ThreadPoolExecutor pool;
+    private final Map<String, CompletableFuture<Boolean>> runningProbes = new ConcurrentHashMap<>();
+
+    /**
+     * A probe returning whether the host responded
+     */
+    @FunctionalInterface
+    public interface Probe {
+        boolean run() throws IOException, InterruptedException;
+    }
+
+    PresenceProbeEngine(int maxThreads) {
+        pool = new ThreadPoolExecutor(maxThreads, maxThreads, THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory("networkPresence", true));
+        pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Return the engine shared by all presence detections.
+     */
+    public static PresenceProbeEngine getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Return an executor for the checks of one presence detection. The tasks are executed on the shared thread pool,
+     * shutting the returned executor down only cancels its own tasks. Tasks still queued behind the checks of other
+     * detections do not use up the timeout of {@link ExecutorService#awaitTermination(long, TimeUnit)}, it counts from
+     * the start of the last task.
+     */
+    public ExecutorService createDetectionExecutor() {
+        return new DetectionExecutor();
+    }
+
+    /**
+     * Perform a probe, unless an identical probe is already running. In this case its result is returned instead.
+     *
+     * @param key Identifies the probe, e.g. its method and destination
+     * @param probe The probe
+     * @return Return true if the host responded
+     * @throws IOException The probe could not be performed
+     * @throws InterruptedException The thread was interrupted while probing or waiting for the identical probe
+     */
+    public boolean probe(String key, Probe probe) throws IOException, InterruptedException {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        CompletableFuture<Boolean> runningProbe = runningProbes.putIfAbsent(key, result);
+        if (runningProbe != null) {
+            try {
+                return runningProbe.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                // the identical probe was interrupted, its result is not meaningful
+                return false;
+            }
+        }
+
+        try {
+            boolean reachable = probe.run();
+            result.complete(reachable);
+            return reachable;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            result.completeExceptionally(e);
+            throw e;
+        } finally {
+            runningProbes.remove(key, result);
+        }
+    }
+
+    /**
+     * Executes tasks on the shared pool and tracks them, so that they can be cancelled and awaited like the tasks of
+     * an own thread pool.
+     */
+    private class DetectionExecutor extends AbstractExecutorService {
+        private final Set<DetectionTask<?>> tasks = ConcurrentHashMap.newKeySet();
+        private volatile boolean shutdown;
+        // guarded by this
+        private long lastStartNanos;
+
+        private class DetectionTask<T> extends FutureTask<T> {
+            volatile boolean started;
+
+            DetectionTask(Callable<T> callable) {
+                super(callable);
+            }
+
+            @Override
+            public void run() {
+                synchronized (DetectionExecutor.this) {
+                    started = true;
+                    lastStartNanos = System.nanoTime();
+                    DetectionExecutor.this.notifyAll();
+                }
+                Thread thread = Thread.currentThread();
+                String threadName = thread.getName();
+                try {
+                    super.run();
+                } finally {
+                    // tasks name the thread after the probe they perform
+                    thread.setName(threadName);
+                }
+            }
+
+            @Override
+            protected void done() {
+                tasks.remove(this);
+                synchronized (DetectionExecutor.this) {
+                    DetectionExecutor.this.notifyAll();
+                }
+            }
+        }
+
+        @Override
+        protected <T> RunnableFuture<T> newTaskFor(@Nullable Runnable runnable, T value) {
+            return new DetectionTask<>(Executors.callable(runnable, value));
+        }
+
+        @Override
+        protected <T> RunnableFuture<T> newTaskFor(@Nullable Callable<T> callable) {
+            return new DetectionTask<>(callable);
+        }
+
+        @Override
+        public void execute(@Nullable Runnable command) {
+            if (command == null) {
+                throw new NullPointerException();
+            }
+            if (shutdown) {
+                throw new RejectedExecutionException("Presence detection already finished");
+            }
+            DetectionTask<?> task = command instanceof DetectionTask ? (DetectionTask<?>) command
+                    : new DetectionTask<>(Executors.callable(command));
+            tasks.add(task);
+            pool.execute(task);
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown();
+            for (DetectionTask<?> task : tasks) {
+                pool.remove(task);
+                task.cancel(true);
+            }
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown && tasks.isEmpty();
+        }
+
+        /**
+         * Waits for the termination of this executor. The timeout only starts when all tasks have started running,
+         * waiting for a free thread of the shared pool does not count.
+         */
+        @Override
+        public synchronized boolean awaitTermination(long timeout, @Nullable TimeUnit unit)
+                throws InterruptedException {
+            long timeoutNanos = (unit != null ? unit : TimeUnit.MILLISECONDS).toNanos(timeout);
+            long start = System.nanoTime();
+            while (!isTerminated()) {
+                if (hasQueuedTasks()) {
+                    // woken up when a task starts or all tasks are done
+                    wait();
+                    continue;
+                }
+                long remaining = Math.max(start, lastStartNanos) + timeoutNanos - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return true;
+        }
+
+        private boolean hasQueuedTasks() {
+            for (DetectionTask<?> task : tasks) {
+                if (!task.started && !task.isDone()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -14,6 +14,7 @@ package org.openhab.binding.network.internal.discovery;
 
 import static org.openhab.binding.network.internal.NetworkBindingConstants.*;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -22,6 +23,7 @@ import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -47,7 +49,8 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@link NetworkDiscoveryService} is responsible for discovering devices on
  * the current Network. It uses every Network Interface which is connected to a network.
- * It tries common TCP ports to connect to, ICMP pings and ARP pings.
+ * It tries ICMP pings and ARP pings. Common TCP ports are tried by a {@link TcpSweep} of up to
+ * {@link #MAXIMUM_IPS_PER_TCP_SWEEP} IPs per interface, running in a single thread.
  *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
@@ -57,6 +60,11 @@ import org.slf4j.LoggerFactory;
 public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
     static final int PING_TIMEOUT_IN_MS = 500;
     static final int MAXIMUM_IPS_PER_INTERFACE = 255;
+    static final int MAXIMUM_IPS_PER_TCP_SWEEP = 65534;
+    static final String CONFIG_TCP_SWEEP_MAX_PENDING = "tcpSweepMaxPending";
+    static final String CONFIG_TCP_SWEEP_RATE = "tcpSweepRate";
+    static final int DEFAULT_TCP_SWEEP_MAX_PENDING = 1024;
+    static final int DEFAULT_TCP_SWEEP_RATE = 5000;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
 
@@ -65,8 +73,11 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     // TCP port 1025 (Xbox / MS-RPC)
     private Set<Integer> tcpServicePorts = Collections
             .unmodifiableSet(Stream.of(80, 548, 554, 1025).collect(Collectors.toSet()));
-    private Integer scannedIPcount = 0;
+    private final AtomicInteger remainingScanJobs = new AtomicInteger();
     private @Nullable ExecutorService executorService = null;
+    private @Nullable TcpSweep tcpSweep = null;
+    private int tcpSweepMaxPending = DEFAULT_TCP_SWEEP_MAX_PENDING;
+    private int tcpSweepRate = DEFAULT_TCP_SWEEP_RATE;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
 
@@ -91,6 +102,26 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         // configuration, the values are automatically available in all handlers. Because they all
         // share the same instance.
         configuration.update(new Configuration(config).as(NetworkBindingConfiguration.class));
+        if (config != null) {
+            tcpSweepMaxPending = getIntConfig(config, CONFIG_TCP_SWEEP_MAX_PENDING, DEFAULT_TCP_SWEEP_MAX_PENDING);
+            tcpSweepRate = getIntConfig(config, CONFIG_TCP_SWEEP_RATE, DEFAULT_TCP_SWEEP_RATE);
+        }
+    }
+
+    private int getIntConfig(Map<String, @Nullable Object> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int intValue = value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString());
+            if (intValue > 0) {
+                return intValue;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        logger.warn("Invalid value '{}' for discovery parameter {}, using {}", value, key, defaultValue);
+        return defaultValue;
     }
 
     @Override
@@ -120,7 +151,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Starts the TCP sweep and the DiscoveryThread for each IP on each interface on the network
      */
     @Override
     protected void startScan() {
@@ -135,7 +166,21 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         logger.trace("Starting Network Device Discovery");
 
         final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        scannedIPcount = 0;
+        final Set<String> sweepIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_TCP_SWEEP);
+        // one job per IP and the TCP sweep
+        remainingScanJobs.set(networkIPs.size() + 1);
+
+        final TcpSweep sweep = new TcpSweep(tcpSweepMaxPending, tcpSweepRate, PING_TIMEOUT_IN_MS);
+        tcpSweep = sweep;
+        service.execute(() -> {
+            Thread.currentThread().setName("Discovery TCP sweep");
+            try {
+                sweep.run(sweepIPs, tcpServicePorts, this::newServiceDevice);
+            } catch (IOException e) {
+                logger.warn("TCP sweep failed: {}", e.getMessage());
+            }
+            scanJobFinished(networkIPs.size());
+        });
 
         for (String ip : networkIPs) {
             final PresenceDetection s = new PresenceDetection(this, 2000);
@@ -146,26 +191,32 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
             // Ping devices
             s.setUseIcmpPing(true);
             s.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
-            // TCP devices
-            s.setServicePorts(tcpServicePorts);
+            // TCP devices are found by the TCP sweep
+            s.setServicePorts(Collections.emptySet());
 
             service.execute(() -> {
                 Thread.currentThread().setName("Discovery thread " + ip);
                 s.performPresenceDetection(true);
-                synchronized (scannedIPcount) {
-                    scannedIPcount += 1;
-                    if (scannedIPcount == networkIPs.size()) {
-                        logger.trace("Scan of {} IPs successful", scannedIPcount);
-                        stopScan();
-                    }
-                }
+                scanJobFinished(networkIPs.size());
             });
         }
     }
 
+    private void scanJobFinished(int scannedIPcount) {
+        if (remainingScanJobs.decrementAndGet() == 0) {
+            logger.trace("Scan of {} IPs successful", scannedIPcount);
+            stopScan();
+        }
+    }
+
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
+        final TcpSweep sweep = tcpSweep;
+        if (sweep != null) {
+            sweep.stop();
+            tcpSweep = null;
+        }
         final ExecutorService service = executorService;
         if (service == null) {
             return;
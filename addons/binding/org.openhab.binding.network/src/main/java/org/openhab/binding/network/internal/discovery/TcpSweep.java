@@ -0,0 +1,228 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link TcpSweep} tries to connect to the given TCP ports of many hosts at once. The connections are opened
+ * non-blocking and handled by a single {@link Selector}, limited by a maximum number of pending connections and a
+ * maximum connection rate. Reachable services are reported as soon as the connection is established.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TcpSweep {
+    /**
+     * Callback for reachable services. Called by the thread running the sweep.
+     */
+    @FunctionalInterface
+    public interface ServiceListener {
+        void serviceFound(String ip, int port);
+    }
+
+    /**
+     * Connection rates are not caught up for pauses longer than this
+     */
+    private static final long MAX_BURST_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Logger logger = LoggerFactory.getLogger(TcpSweep.class);
+
+    private final int maxPendingConnections;
+    private final long connectIntervalNanos;
+    private final long timeoutNanos;
+    private int openConnections;
+    private volatile boolean stopped;
+    private volatile @Nullable Selector selector;
+
+    private static class Probe {
+        final String ip;
+        final int port;
+        final long startNanos;
+        boolean closed;
+
+        Probe(String ip, int port, long startNanos) {
+            this.ip = ip;
+            this.port = port;
+            this.startNanos = startNanos;
+        }
+    }
+
+    /**
+     * @param maxPendingConnections The maximum number of connections waiting for an answer at the same time
+     * @param connectionsPerSecond The maximum number of connections opened per second
+     * @param timeoutInMS The time to wait for an answer of a host, in milliseconds
+     */
+    public TcpSweep(int maxPendingConnections, int connectionsPerSecond, int timeoutInMS) {
+        this.maxPendingConnections = Math.max(1, maxPendingConnections);
+        this.connectIntervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, connectionsPerSecond);
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutInMS);
+    }
+
+    /**
+     * Tries to connect to all given ports of all given hosts. Blocks until all connections are answered or timed
+     * out, or until the sweep is stopped.
+     *
+     * @param ips The IP addresses
+     * @param ports The TCP ports
+     * @param listener Called for every reachable service
+     * @throws IOException The selector could not be opened
+     */
+    public void run(Collection<String> ips, Collection<Integer> ports, ServiceListener listener) throws IOException {
+        if (ports.isEmpty()) {
+            return;
+        }
+        Iterator<String> ipIterator = ips.iterator();
+        Iterator<Integer> portIterator = ports.iterator();
+        @Nullable String ip = null;
+        // connections in the order they were opened, which is also the order they time out. Connections answered
+        // in the meantime are closed, but only removed when they reach the head.
+        ArrayDeque<SelectionKey> pending = new ArrayDeque<>();
+        int probeCount = 0;
+        openConnections = 0;
+
+        try (Selector selector = Selector.open()) {
+            this.selector = selector;
+            long nextConnectNanos = System.nanoTime();
+            while (!stopped) {
+                long now = System.nanoTime();
+
+                // open new connections, as far as the window and the rate permit
+                nextConnectNanos = Math.max(nextConnectNanos, now - MAX_BURST_NANOS);
+                while (openConnections < maxPendingConnections && nextConnectNanos <= now
+                        && (portIterator.hasNext() && ip != null || ipIterator.hasNext())) {
+                    if (ip == null || !portIterator.hasNext()) {
+                        ip = ipIterator.next();
+                        portIterator = ports.iterator();
+                    }
+                    connect(selector, new Probe(ip, portIterator.next(), now), pending, listener);
+                    probeCount++;
+                    nextConnectNanos += connectIntervalNanos;
+                }
+                boolean moreProbes = portIterator.hasNext() && ip != null || ipIterator.hasNext();
+                while (!pending.isEmpty() && !pending.peek().isValid()) {
+                    pending.poll();
+                }
+                if (pending.isEmpty() && !moreProbes) {
+                    break;
+                }
+
+                // wait for answers, the next timeout or the next connection slot
+                long waitNanos = pending.isEmpty() ? Long.MAX_VALUE
+                        : ((Probe) pending.peek().attachment()).startNanos + timeoutNanos - now;
+                if (moreProbes && openConnections < maxPendingConnections) {
+                    waitNanos = Math.min(waitNanos, nextConnectNanos - now);
+                }
+                selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos)));
+
+                for (SelectionKey key : selector.selectedKeys()) {
+                    finishConnect(key, listener);
+                }
+                selector.selectedKeys().clear();
+
+                // close timed out connections
+                now = System.nanoTime();
+                while (!pending.isEmpty()) {
+                    SelectionKey key = pending.peek();
+                    if (key.isValid() && ((Probe) key.attachment()).startNanos + timeoutNanos > now) {
+                        break;
+                    }
+                    pending.poll();
+                    close(key);
+                }
+            }
+        } finally {
+            this.selector = null;
+            for (SelectionKey key : pending) {
+                close(key);
+            }
+        }
+        logger.trace("TCP sweep of {} services finished", probeCount);
+    }
+
+    /**
+     * Stops a running sweep. Pending connections are closed.
+     */
+    public void stop() {
+        stopped = true;
+        Selector selector = this.selector;
+        if (selector != null) {
+            selector.wakeup();
+        }
+    }
+
+    private void connect(Selector selector, Probe probe, ArrayDeque<SelectionKey> pending, ServiceListener listener) {
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            if (channel.connect(new InetSocketAddress(probe.ip, probe.port))) {
+                channel.close();
+                listener.serviceFound(probe.ip, probe.port);
+                return;
+            }
+            pending.add(channel.register(selector, SelectionKey.OP_CONNECT, probe));
+            openConnections++;
+        } catch (IOException e) {
+            // e.g. the network is unreachable
+            logger.trace("Could not connect to {}:{}: {}", probe.ip, probe.port, e.getMessage());
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private void finishConnect(SelectionKey key, ServiceListener listener) {
+        Probe probe = (Probe) key.attachment();
+        boolean connected = false;
+        try {
+            connected = ((SocketChannel) key.channel()).finishConnect();
+        } catch (IOException ignored) {
+            // connection refused or host unreachable
+        }
+        close(key);
+        if (connected) {
+            listener.serviceFound(probe.ip, probe.port);
+        }
+    }
+
+    private void close(SelectionKey key) {
+        Probe probe = (Probe) key.attachment();
+        if (probe.closed) {
+            return;
+        }
+        probe.closed = true;
+        openConnections--;
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+        }
+    }
+}
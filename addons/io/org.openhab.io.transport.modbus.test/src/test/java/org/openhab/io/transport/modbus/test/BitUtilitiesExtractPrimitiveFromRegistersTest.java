@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.openhab.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * @author agent - Initial contribution
+ */
+@RunWith(Parameterized.class)
+public class BitUtilitiesExtractPrimitiveFromRegistersTest {
+
+    final ModbusRegisterArray registers;
+    final ValueType type;
+    final int index;
+    final Object expectedResult;
+
+    @Rule
+    public final ExpectedException shouldThrow = ExpectedException.none();
+
+    public BitUtilitiesExtractPrimitiveFromRegistersTest(Object expectedResult, ValueType type,
+            ModbusRegisterArray registers, int index) {
+        this.registers = registers;
+        this.index = index;
+        this.type = type;
+        this.expectedResult = expectedResult; // Exception or DecimalType
+    }
+
+    @Parameters
+    public static Collection<Object[]> data() {
+        return BitUtilitiesExtractStateFromRegistersTest.data();
+    }
+
+    private boolean expectException() {
+        if (expectedResult instanceof Class && Exception.class.isAssignableFrom((Class<?>) expectedResult)) {
+            @SuppressWarnings("unchecked")
+            Class<? extends Throwable> exceptionClass = (Class<? extends Throwable>) expectedResult;
+            shouldThrow.expect(exceptionClass);
+            return true;
+        }
+        return false;
+    }
+
+    @Test
+    public void testExtractDouble() {
+        expectException();
+
+        double actual = ModbusBitUtilities.extractDoubleFromRegisters(registers, index, type);
+        assertThat(String.format("registers=%s, index=%d, type=%s", registers, index, type), actual,
+                is(equalTo(((DecimalType) expectedResult).doubleValue())));
+    }
+
+    @Test
+    public void testExtractLong() {
+        expectException();
+
+        long actual = ModbusBitUtilities.extractLongFromRegisters(registers, index, type);
+        BigDecimal expected = ((DecimalType) expectedResult).toBigDecimal();
+        if (type == ValueType.FLOAT32 || type == ValueType.FLOAT32_SWAP) {
+            // only compare values that are representable as long
+            if (expected.abs().compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) >= 0) {
+                return;
+            }
+            assertThat(actual, is(equalTo(expected.longValue())));
+        } else {
+            // UINT64 values above Long.MAX_VALUE wrap around
+            assertThat(String.format("registers=%s, index=%d, type=%s", registers, index, type), actual,
+                    is(equalTo(expected.toBigInteger().longValue())));
+        }
+    }
+
+    @Test
+    public void testBulkExtractMatchesSingleExtract() {
+        if (expectException()) {
+            // bulk extraction fails the same way
+            ModbusBitUtilities.extractRawFromRegisters(registers, new int[] { index }, type, new long[1]);
+            return;
+        }
+
+        int[] indices = new int[] { index, index };
+        long[] raw = new long[2];
+        ModbusBitUtilities.extractRawFromRegisters(registers, indices, type, raw);
+        double[] values = new double[2];
+        ModbusBitUtilities.extractDoublesFromRegisters(registers, indices, type, values);
+
+        long expectedRaw = ModbusBitUtilities.extractRawFromRegisters(registers, index, type);
+        assertThat(raw[0], is(equalTo(expectedRaw)));
+        assertThat(raw[1], is(equalTo(expectedRaw)));
+        assertThat(values[0], is(equalTo(ModbusBitUtilities.extractDoubleFromRegisters(registers, index, type))));
+    }
+}
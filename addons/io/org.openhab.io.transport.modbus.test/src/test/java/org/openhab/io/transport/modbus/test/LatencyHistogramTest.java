@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.internal.LatencyHistogram;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class LatencyHistogramTest {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    public void testEmptyHistogram() {
+        assertThat(histogram.getPercentile(50), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testShortDurationsAreExact() {
+        for (int millis = 0; millis < 8; millis++) {
+            histogram.record(millis);
+        }
+        assertThat(histogram.getPercentile(0), is(equalTo(0L)));
+        assertThat(histogram.getPercentile(50), is(equalTo(3L)));
+        assertThat(histogram.getPercentile(100), is(equalTo(7L)));
+    }
+
+    @Test
+    public void testPercentilesWithinRelativeError() {
+        for (int millis = 1; millis <= 1000; millis++) {
+            histogram.record(millis);
+        }
+        assertPercentile(50, 500);
+        assertPercentile(95, 950);
+        assertPercentile(99, 990);
+        assertPercentile(100, 1000);
+    }
+
+    @Test
+    public void testVeryLongDurationsAreCapped() {
+        histogram.record(Long.MAX_VALUE);
+        assertThat(histogram.getPercentile(100) > 1L << 40, is(true));
+    }
+
+    @Test
+    public void testReset() {
+        histogram.record(100);
+        histogram.reset();
+        assertThat(histogram.getPercentile(100), is(equalTo(0L)));
+    }
+
+    private void assertPercentile(double percentile, long exact) {
+        long value = histogram.getPercentile(percentile);
+        assertThat(String.format("p%s = %d", percentile, value), value >= exact && value <= exact * 1.25, is(true));
+    }
+}
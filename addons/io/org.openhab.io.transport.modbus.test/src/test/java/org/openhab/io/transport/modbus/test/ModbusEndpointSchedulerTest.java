@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.ModbusEndpointQueueStatistics;
+import org.openhab.io.transport.modbus.internal.ModbusEndpointScheduler;
+import org.openhab.io.transport.modbus.internal.ModbusEndpointScheduler.Priority;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class ModbusEndpointSchedulerTest {
+
+    private final ModbusSlaveEndpoint endpoint1 = new ModbusTCPSlaveEndpoint("host1", 502);
+    private final ModbusSlaveEndpoint endpoint2 = new ModbusTCPSlaveEndpoint("host2", 502);
+
+    /**
+     * Executor running the submitted tasks only when asked to, in submission order
+     */
+    private final LinkedList<Runnable> executorQueue = new LinkedList<>();
+    private final ModbusEndpointScheduler scheduler = new ModbusEndpointScheduler(executorQueue::add);
+    private final List<String> executed = new ArrayList<>();
+
+    private void runAll() {
+        while (!executorQueue.isEmpty()) {
+            executorQueue.removeFirst().run();
+        }
+    }
+
+    private ScheduledFuture<?> submit(ModbusSlaveEndpoint endpoint, Priority priority, long deadline, String name) {
+        return scheduler.submit(endpoint, priority, deadline, () -> executed.add(name));
+    }
+
+    @Test
+    public void testHighPriorityOperationsAreExecutedFirst() {
+        long deadline = System.currentTimeMillis() + 60000;
+        submit(endpoint1, Priority.NORMAL, deadline, "poll1");
+        submit(endpoint1, Priority.NORMAL, deadline + 1, "poll2");
+        submit(endpoint1, Priority.HIGH, ModbusEndpointScheduler.NO_DEADLINE, "write");
+
+        runAll();
+
+        assertThat(executed, is(equalTo(Arrays.asList("write", "poll1", "poll2"))));
+    }
+
+    @Test
+    public void testEndpointsTakeTurns() {
+        long deadline = System.currentTimeMillis() + 60000;
+        submit(endpoint1, Priority.NORMAL, deadline, "a1");
+        submit(endpoint1, Priority.NORMAL, deadline, "a2");
+        submit(endpoint1, Priority.NORMAL, deadline, "a3");
+        submit(endpoint2, Priority.NORMAL, deadline, "b1");
+        submit(endpoint2, Priority.NORMAL, deadline, "b2");
+
+        runAll();
+
+        assertThat(executed, is(equalTo(Arrays.asList("a1", "b1", "a2", "b2", "a3"))));
+    }
+
+    @Test
+    public void testOneTurnPerEndpointIsQueued() {
+        long deadline = System.currentTimeMillis() + 60000;
+        submit(endpoint1, Priority.NORMAL, deadline, "a1");
+        submit(endpoint1, Priority.NORMAL, deadline, "a2");
+
+        assertThat(executorQueue.size(), is(equalTo(1)));
+        assertThat(scheduler.getStatistics().get(endpoint1).getQueueDepth(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testOperationsPastDeadlineAreDropped() {
+        ScheduledFuture<?> stale = submit(endpoint1, Priority.NORMAL, System.currentTimeMillis() - 1, "stale");
+        ScheduledFuture<?> fresh = submit(endpoint1, Priority.NORMAL, System.currentTimeMillis() + 60000, "fresh");
+
+        runAll();
+
+        assertThat(executed, is(equalTo(Arrays.asList("fresh"))));
+        assertThat(stale.isCancelled(), is(true));
+        assertThat(fresh.isDone(), is(true));
+        ModbusEndpointQueueStatistics statistics = scheduler.getStatistics().get(endpoint1);
+        assertThat(statistics.getDropped(), is(equalTo(1L)));
+        assertThat(statistics.getExecuted(), is(equalTo(1L)));
+        assertThat(statistics.getQueueDepth(), is(equalTo(0)));
+        assertThat(statistics.getMaxQueueDepth(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testCanceledOperationsAreNotExecuted() {
+        ScheduledFuture<?> canceled = submit(endpoint1, Priority.HIGH, ModbusEndpointScheduler.NO_DEADLINE, "a1");
+        submit(endpoint2, Priority.HIGH, ModbusEndpointScheduler.NO_DEADLINE, "b1");
+        canceled.cancel(false);
+
+        runAll();
+
+        assertThat(executed, is(equalTo(Arrays.asList("b1"))));
+
+        submit(endpoint1, Priority.HIGH, ModbusEndpointScheduler.NO_DEADLINE, "a2");
+        scheduler.cancelAll();
+        runAll();
+
+        assertThat(executed, is(equalTo(Arrays.asList("b1"))));
+    }
+}
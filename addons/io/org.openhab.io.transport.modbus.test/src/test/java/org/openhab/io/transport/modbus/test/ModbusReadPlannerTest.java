@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusConnectionException;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.CoalescedPollTask;
+import org.openhab.io.transport.modbus.internal.ModbusReadPlanner;
+import org.openhab.io.transport.modbus.internal.ModbusSlaveErrorResponseExceptionImpl;
+
+import net.wimpi.modbus.Modbus;
+import net.wimpi.modbus.ModbusSlaveException;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class ModbusReadPlannerTest {
+
+    private final ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("localhost", 502);
+
+    private PollTask task(int unitId, ModbusReadFunctionCode functionCode, int start, int length) {
+        return new BasicPollTaskImpl(endpoint,
+                new BasicModbusReadRequestBlueprint(unitId, functionCode, start, length, 1),
+                mock(ModbusReadCallback.class));
+    }
+
+    @Test
+    public void testAdjacentAndOverlappingTasksAreMerged() {
+        PollTask first = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2);
+        PollTask second = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 3);
+        PollTask third = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 4, 2);
+
+        List<PollTask> plan = ModbusReadPlanner.plan(Arrays.asList(third, first, second), 0);
+
+        assertThat(plan.size(), is(equalTo(1)));
+        assertThat(plan.get(0), is(instanceOf(CoalescedPollTask.class)));
+        assertThat(plan.get(0).getRequest().getReference(), is(equalTo(0)));
+        assertThat(plan.get(0).getRequest().getDataLength(), is(equalTo(6)));
+        assertThat(((CoalescedPollTask) plan.get(0)).getTasks(), is(equalTo(Arrays.asList(first, second, third))));
+    }
+
+    @Test
+    public void testGapToleranceIsHonoured() {
+        PollTask first = task(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 0, 2);
+        PollTask second = task(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 5, 2);
+
+        assertThat(ModbusReadPlanner.plan(Arrays.asList(first, second), 2),
+                is(equalTo(Arrays.asList(first, second))));
+
+        List<PollTask> plan = ModbusReadPlanner.plan(Arrays.asList(first, second), 3);
+        assertThat(plan.size(), is(equalTo(1)));
+        assertThat(plan.get(0).getRequest().getDataLength(), is(equalTo(7)));
+    }
+
+    @Test
+    public void testIncompatibleTasksAreNotMerged() {
+        PollTask registers = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2);
+        PollTask inputRegisters = task(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 2, 2);
+        PollTask otherUnit = task(2, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2);
+
+        List<PollTask> plan = ModbusReadPlanner.plan(Arrays.asList(registers, inputRegisters, otherUnit), 10);
+
+        assertThat(plan.size(), is(equalTo(3)));
+        assertThat(plan, hasItems(registers, inputRegisters, otherUnit));
+    }
+
+    @Test
+    public void testProtocolIdIsKept() {
+        PollTask first = new BasicPollTaskImpl(endpoint,
+                new BasicModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2, 1, 5),
+                mock(ModbusReadCallback.class));
+        PollTask second = new BasicPollTaskImpl(endpoint,
+                new BasicModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2, 1, 5),
+                mock(ModbusReadCallback.class));
+        PollTask otherProtocol = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 4, 2);
+
+        List<PollTask> plan = ModbusReadPlanner.plan(Arrays.asList(first, second, otherProtocol), 0);
+
+        assertThat(plan.size(), is(equalTo(2)));
+        assertThat(plan.get(0).getRequest().getProtocolID(), is(equalTo(5)));
+        assertThat(((CoalescedPollTask) plan.get(0)).getTasks(), is(equalTo(Arrays.asList(first, second))));
+        assertThat(plan.get(1), is(sameInstance(otherProtocol)));
+    }
+
+    @Test
+    public void testProtocolLimitsAreHonoured() {
+        PollTask first = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 100);
+        PollTask second = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 100, 26);
+        assertThat(ModbusReadPlanner.plan(Arrays.asList(first, second), 0).size(), is(equalTo(2)));
+
+        PollTask firstCoils = task(1, ModbusReadFunctionCode.READ_COILS, 0, 1000);
+        PollTask secondCoils = task(1, ModbusReadFunctionCode.READ_COILS, 1000, 1000);
+        assertThat(ModbusReadPlanner.plan(Arrays.asList(firstCoils, secondCoils), 0).size(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testRegistersAreSlicedToOriginalRequests() {
+        PollTask first = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 2);
+        PollTask second = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 13, 1);
+        CoalescedPollTask coalesced = (CoalescedPollTask) ModbusReadPlanner.plan(Arrays.asList(first, second), 1)
+                .get(0);
+
+        coalesced.getCallback().onRegisters(coalesced.getRequest(), new BasicModbusRegisterArray(1, 2, 3, 4));
+
+        ArgumentCaptor<ModbusRegisterArray> firstRegisters = ArgumentCaptor.forClass(ModbusRegisterArray.class);
+        verify(first.getCallback()).onRegisters(eq(first.getRequest()), firstRegisters.capture());
+        assertThat(firstRegisters.getValue().toHexString(), is(equalTo("00 01 00 02")));
+        ArgumentCaptor<ModbusRegisterArray> secondRegisters = ArgumentCaptor.forClass(ModbusRegisterArray.class);
+        verify(second.getCallback()).onRegisters(eq(second.getRequest()), secondRegisters.capture());
+        assertThat(secondRegisters.getValue().toHexString(), is(equalTo("00 04")));
+    }
+
+    @Test
+    public void testBitsAreSlicedToOriginalRequests() {
+        PollTask first = task(1, ModbusReadFunctionCode.READ_COILS, 0, 2);
+        PollTask second = task(1, ModbusReadFunctionCode.READ_COILS, 2, 3);
+        CoalescedPollTask coalesced = (CoalescedPollTask) ModbusReadPlanner.plan(Arrays.asList(first, second), 0)
+                .get(0);
+
+        coalesced.getCallback().onBits(coalesced.getRequest(), new BasicBitArray(true, false, false, true, true));
+
+        verify(first.getCallback()).onBits(first.getRequest(), new BasicBitArray(true, false));
+        verify(second.getCallback()).onBits(second.getRequest(), new BasicBitArray(false, true, true));
+    }
+
+    @Test
+    public void testConnectionErrorsArePassedToAllCallbacks() {
+        PollTask first = task(1, ModbusReadFunctionCode.READ_COILS, 0, 2);
+        PollTask second = task(1, ModbusReadFunctionCode.READ_COILS, 2, 3);
+        CoalescedPollTask coalesced = (CoalescedPollTask) ModbusReadPlanner.plan(Arrays.asList(first, second), 0)
+                .get(0);
+        Exception error = new ModbusConnectionException(endpoint);
+
+        coalesced.getCallback().onError(coalesced.getRequest(), error);
+
+        verify(first.getCallback()).onError(first.getRequest(), error);
+        verify(second.getCallback()).onError(second.getRequest(), error);
+        verify(first.getCallback(), never()).onBits(any(), any(BitArray.class));
+        assertThat(coalesced.getError(), is(nullValue()));
+    }
+
+    @Test
+    public void testSlaveErrorsAreLeftToTheOriginalRequests() {
+        // the slave does not know the registers in the gap between the tasks
+        PollTask first = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2);
+        PollTask second = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 4, 2);
+        CoalescedPollTask coalesced = (CoalescedPollTask) ModbusReadPlanner.plan(Arrays.asList(first, second), 2)
+                .get(0);
+        Exception error = new ModbusSlaveErrorResponseExceptionImpl(
+                new ModbusSlaveException(Modbus.ILLEGAL_ADDRESS_EXCEPTION));
+
+        coalesced.getCallback().onError(coalesced.getRequest(), error);
+
+        verify(first.getCallback(), never()).onError(any(), any());
+        verify(second.getCallback(), never()).onError(any(), any());
+        assertThat(coalesced.getError(), is(sameInstance(error)));
+    }
+}
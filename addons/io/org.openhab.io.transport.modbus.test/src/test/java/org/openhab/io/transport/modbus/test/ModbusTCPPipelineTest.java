@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.internal.ModbusTCPPipeline;
+
+import net.wimpi.modbus.ModbusIOException;
+import net.wimpi.modbus.io.ModbusTransport;
+import net.wimpi.modbus.msg.ModbusMessage;
+import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ModbusResponse;
+import net.wimpi.modbus.msg.ReadMultipleRegistersRequest;
+import net.wimpi.modbus.msg.ReadMultipleRegistersResponse;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class ModbusTCPPipelineTest {
+
+    /**
+     * Transport answering the outstanding requests in reverse order, after any stale responses
+     */
+    private static class ReversingTransport implements ModbusTransport {
+        final LinkedList<ModbusResponse> stale = new LinkedList<>();
+        private final LinkedList<ModbusRequest> outstanding = new LinkedList<>();
+        int maxOutstanding;
+        int written;
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void writeMessage(ModbusMessage message) {
+            outstanding.add((ModbusRequest) message);
+            maxOutstanding = Math.max(maxOutstanding, outstanding.size());
+            written++;
+        }
+
+        @Override
+        public ModbusRequest readRequest() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ModbusResponse readResponse() throws ModbusIOException {
+            if (!stale.isEmpty()) {
+                return stale.removeFirst();
+            }
+            if (outstanding.isEmpty()) {
+                throw new ModbusIOException("No outstanding requests");
+            }
+            ModbusRequest request = outstanding.removeLast();
+            return response(request.getTransactionID(), request.getUnitID());
+        }
+    }
+
+    private static ModbusResponse response(int transactionId, int unitId) {
+        ReadMultipleRegistersResponse response = new ReadMultipleRegistersResponse();
+        response.setTransactionID(transactionId);
+        response.setUnitID(unitId);
+        return response;
+    }
+
+    private static ModbusRequest[] requests(int count) {
+        List<ModbusRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ModbusRequest request = new ReadMultipleRegistersRequest(0, 1);
+            request.setUnitID(i);
+            requests.add(request);
+        }
+        return requests.toArray(new ModbusRequest[0]);
+    }
+
+    @Test
+    public void testResponsesAreMatchedByTransactionId() throws ModbusIOException {
+        ReversingTransport transport = new ReversingTransport();
+        ModbusRequest[] requests = requests(5);
+        ModbusResponse[] responses = new ModbusResponse[requests.length];
+
+        ModbusTCPPipeline.execute(transport, requests, responses, 3);
+
+        assertThat(transport.written, is(equalTo(5)));
+        for (int i = 0; i < requests.length; i++) {
+            assertThat(responses[i].getTransactionID(), is(equalTo(requests[i].getTransactionID())));
+            assertThat(responses[i].getUnitID(), is(equalTo(i)));
+        }
+    }
+
+    @Test
+    public void testAtMostMaxOutstandingRequests() throws ModbusIOException {
+        ReversingTransport transport = new ReversingTransport();
+        ModbusRequest[] requests = requests(7);
+
+        ModbusTCPPipeline.execute(transport, requests, new ModbusResponse[requests.length], 2);
+
+        assertThat(transport.maxOutstanding, is(equalTo(2)));
+    }
+
+    @Test
+    public void testStaleResponsesAreDiscarded() throws ModbusIOException {
+        ReversingTransport transport = new ReversingTransport();
+        transport.stale.add(response(0xFFFF - 1, 100));
+        ModbusRequest[] requests = requests(2);
+        ModbusResponse[] responses = new ModbusResponse[requests.length];
+
+        ModbusTCPPipeline.execute(transport, requests, responses, 2);
+
+        assertThat(responses[0].getUnitID(), is(equalTo(0)));
+        assertThat(responses[1].getUnitID(), is(equalTo(1)));
+    }
+
+    @Test(expected = ModbusIOException.class)
+    public void testTooManyStaleResponsesFail() throws ModbusIOException {
+        ReversingTransport transport = new ReversingTransport();
+        for (int i = 0; i < 3; i++) {
+            transport.stale.add(response(0xFFFF - 1 - i, 100));
+        }
+        ModbusRequest[] requests = requests(2);
+
+        ModbusTCPPipeline.execute(transport, requests, new ModbusResponse[requests.length], 2);
+    }
+
+    @Test
+    public void testResponsesReceivedBeforeErrorAreKept() {
+        ReversingTransport transport = new ReversingTransport() {
+            @Override
+            public ModbusResponse readResponse() throws ModbusIOException {
+                if (written > 1) {
+                    throw new ModbusIOException("Connection reset");
+                }
+                return super.readResponse();
+            }
+        };
+        ModbusRequest[] requests = requests(3);
+        ModbusResponse[] responses = new ModbusResponse[requests.length];
+
+        try {
+            ModbusTCPPipeline.execute(transport, requests, responses, 1);
+        } catch (ModbusIOException e) {
+            // expected
+        }
+
+        assertThat(responses[0], is(notNullValue()));
+        assertThat(responses[1], is(nullValue()));
+        assertThat(responses[2], is(nullValue()));
+    }
+}
@@ -16,6 +16,8 @@ import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 import static org.junit.Assume.assumeFalse;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -48,11 +50,16 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ImmutableSet;
 
+import net.wimpi.modbus.ModbusCoupler;
 import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ReadMultipleRegistersRequest;
 import net.wimpi.modbus.msg.WriteCoilRequest;
 import net.wimpi.modbus.msg.WriteMultipleCoilsRequest;
+import net.wimpi.modbus.procimg.IllegalAddressException;
+import net.wimpi.modbus.procimg.Register;
 import net.wimpi.modbus.procimg.SimpleDigitalIn;
 import net.wimpi.modbus.procimg.SimpleDigitalOut;
+import net.wimpi.modbus.procimg.SimpleProcessImage;
 import net.wimpi.modbus.procimg.SimpleRegister;
 
 /**
@@ -753,6 +760,76 @@ public class SmokeTest extends IntegrationTestSupport {
         assertPollDetails(unexpectedCount, dataReceived, start, end, 145, 500);
     }
 
+    @Test
+    public void testCoalescedReadRejectedBySlaveIsSplit() throws InterruptedException {
+        // registers 2 and 3 between the polled ones do not exist
+        SimpleProcessImage processImage = new SimpleProcessImage() {
+            @Override
+            public Register[] getRegisterRange(int offset, int count) {
+                if (offset < 4 && offset + count > 2) {
+                    throw new IllegalAddressException();
+                }
+                return super.getRegisterRange(offset, count);
+            }
+        };
+        for (int i = 0; i < 6; i++) {
+            processImage.addRegister(new SimpleRegister(i));
+        }
+        ModbusCoupler.getReference().setProcessImage(processImage);
+        modbusManager.close();
+        Map<String, Object> config = new HashMap<>();
+        config.put("coalesceReads", "true");
+        config.put("coalesceMaxGap", "2");
+        modbusManager = new NonOSGIModbusManager(config);
+
+        AtomicInteger unexpectedCount = new AtomicInteger();
+        CountDownLatch callbackCalled = new CountDownLatch(6);
+        BasicPollTaskImpl first = new BasicPollTaskImpl(getEndpoint(), new BasicModbusReadRequestBlueprint(
+                SLAVE_UNIT_ID, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2, 1),
+                registerCallback(0, unexpectedCount, callbackCalled));
+        BasicPollTaskImpl second = new BasicPollTaskImpl(getEndpoint(), new BasicModbusReadRequestBlueprint(
+                SLAVE_UNIT_ID, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 4, 2, 1),
+                registerCallback(4, unexpectedCount, callbackCalled));
+        modbusManager.registerRegularPoll(first, 150, 0);
+        modbusManager.registerRegularPoll(second, 150, 0);
+        assertTrue(callbackCalled.await(5, TimeUnit.SECONDS));
+        modbusManager.unregisterRegularPoll(first);
+        modbusManager.unregisterRegularPoll(second);
+
+        assertThat(unexpectedCount.get(), is(equalTo(0)));
+        // the rejected coalesced request is not tried again
+        assertThat(modbustRequestCaptor.getAllReturnValues().stream()
+                .filter(request -> ((ReadMultipleRegistersRequest) request).getWordCount() == 6).count(),
+                is(equalTo(1L)));
+    }
+
+    private ModbusReadCallback registerCallback(int start, AtomicInteger unexpectedCount,
+            CountDownLatch callbackCalled) {
+        return new ModbusReadCallback() {
+
+            @Override
+            public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+                if (registers.size() != 2 || registers.getRegister(0).getValue() != start
+                        || registers.getRegister(1).getValue() != start + 1) {
+                    unexpectedCount.incrementAndGet();
+                }
+                callbackCalled.countDown();
+            }
+
+            @Override
+            public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                unexpectedCount.incrementAndGet();
+                callbackCalled.countDown();
+            }
+
+            @Override
+            public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+                unexpectedCount.incrementAndGet();
+                callbackCalled.countDown();
+            }
+        };
+    }
+
     /**
      *
      * @param unexpectedCount number of unexpected callback calls
@@ -19,12 +19,14 @@ import org.apache.commons.lang.builder.ToStringBuilder;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
+import net.wimpi.modbus.Modbus;
+
 /**
  * Immutable implementation of {@link ModbusReadRequestBlueprint}
  *
  * Equals and hashCode implemented keeping {@link PollTask} in mind: two instances of this class are considered the same
  * if they have
- * the equal parameters (same slave id, start, length, function code and maxTries).
+ * the equal parameters (same slave id, protocol id, start, length, function code and maxTries).
  *
  * @author Sami Salonen - Initial contribution
  *
@@ -37,6 +39,7 @@ public class BasicModbusReadRequestBlueprint implements ModbusReadRequestBluepri
     }
 
     private int slaveId;
+    private int protocolID;
     private ModbusReadFunctionCode functionCode;
     private int start;
     private int length;
@@ -44,8 +47,14 @@ public class BasicModbusReadRequestBlueprint implements ModbusReadRequestBluepri
 
     public BasicModbusReadRequestBlueprint(int slaveId, ModbusReadFunctionCode functionCode, int start, int length,
             int maxTries) {
+        this(slaveId, functionCode, start, length, maxTries, Modbus.DEFAULT_PROTOCOL_ID);
+    }
+
+    public BasicModbusReadRequestBlueprint(int slaveId, ModbusReadFunctionCode functionCode, int start, int length,
+            int maxTries, int protocolID) {
         super();
         this.slaveId = slaveId;
+        this.protocolID = protocolID;
         this.functionCode = functionCode;
         this.start = start;
         this.length = length;
@@ -57,6 +66,11 @@ public class BasicModbusReadRequestBlueprint implements ModbusReadRequestBluepri
         return slaveId;
     }
 
+    @Override
+    public int getProtocolID() {
+        return protocolID;
+    }
+
     @Override
     public int getReference() {
         return start;
@@ -79,14 +93,15 @@ public class BasicModbusReadRequestBlueprint implements ModbusReadRequestBluepri
 
     @Override
     public int hashCode() {
-        return new HashCodeBuilder(81, 3).append(slaveId).append(functionCode).append(start).append(length)
-                .append(maxTries).toHashCode();
+        return new HashCodeBuilder(81, 3).append(slaveId).append(protocolID).append(functionCode).append(start)
+                .append(length).append(maxTries).toHashCode();
     }
 
     @Override
     public String toString() {
-        return new ToStringBuilder(this, toStringStyle).append("slaveId", slaveId).append("functionCode", functionCode)
-                .append("start", start).append("length", length).append("maxTries", maxTries).toString();
+        return new ToStringBuilder(this, toStringStyle).append("slaveId", slaveId).append("protocolID", protocolID)
+                .append("functionCode", functionCode).append("start", start).append("length", length)
+                .append("maxTries", maxTries).toString();
     }
 
     @Override
@@ -101,7 +116,8 @@ public class BasicModbusReadRequestBlueprint implements ModbusReadRequestBluepri
             return false;
         }
         BasicModbusReadRequestBlueprint rhs = (BasicModbusReadRequestBlueprint) obj;
-        return new EqualsBuilder().append(slaveId, rhs.slaveId).append(functionCode, rhs.functionCode)
+        return new EqualsBuilder().append(slaveId, rhs.slaveId).append(protocolID, rhs.protocolID)
+                .append(functionCode, rhs.functionCode)
                 .append(start, rhs.start).append(length, rhs.length).isEquals();
     }
 
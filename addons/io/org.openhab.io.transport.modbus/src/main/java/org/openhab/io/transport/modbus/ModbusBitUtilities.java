@@ -14,8 +14,6 @@ package org.openhab.io.transport.modbus;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.Optional;
 
@@ -98,6 +96,39 @@ public class ModbusBitUtilities {
      */
     public static DecimalType extractStateFromRegisters(ModbusRegisterArray registers, int index,
             ModbusConstants.ValueType type) {
+        long raw = extractRawFromRegisters(registers, index, type);
+        switch (type) {
+            case FLOAT32:
+            case FLOAT32_SWAP:
+                return new DecimalType(Float.intBitsToFloat((int) raw));
+            case UINT64:
+            case UINT64_SWAP:
+                return raw >= 0 ? new DecimalType(raw)
+                        : new DecimalType(new BigDecimal(new BigInteger(Long.toUnsignedString(raw))));
+            default:
+                return new DecimalType(raw);
+        }
+    }
+
+    /**
+     * Read the raw bits of a value from registers, without constructing any objects
+     *
+     * Integer types are returned as their value, i.e. sign extended (signed types) or zero extended (unsigned types).
+     * Note that UINT64 values above {@link Long#MAX_VALUE} are returned as negative numbers, as with
+     * {@link Long#parseUnsignedLong(String)}. Floating point types are returned as their IEEE 754 bit pattern, see
+     * {@link Float#intBitsToFloat(int)}.
+     *
+     * Values of the same type with equal raw bits are equal, which makes the raw bits suitable for detecting unchanged
+     * values.
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index, see {@link #extractStateFromRegisters(ModbusRegisterArray, int, ValueType)}
+     * @param type item type
+     * @return raw bits of the queried value
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static long extractRawFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
         int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
         // each register has 16 bits
         int lastValidIndex = registers.size() * 16 - 1;
@@ -108,94 +139,155 @@ public class ModbusBitUtilities {
         }
         switch (type) {
             case BIT:
-                return new DecimalType((registers.getRegister(index / 16).toUnsignedShort() >> (index % 16)) & 1);
+                return (registers.getUnsignedShort(index / 16) >> (index % 16)) & 1;
             case INT8:
-                return new DecimalType(registers.getRegister(index / 2).getBytes()[1 - (index % 2)]);
+                return (byte) (registers.getUnsignedShort(index / 2) >> (8 * (index % 2)));
             case UINT8:
-                return new DecimalType(
-                        (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2))) & 0xff);
-            case INT16: {
-                ByteBuffer buff = ByteBuffer.allocate(2);
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getShort(0));
-            }
+                return (registers.getUnsignedShort(index / 2) >> (8 * (index % 2))) & 0xff;
+            case INT16:
+                return (short) registers.getUnsignedShort(index);
             case UINT16:
-                return new DecimalType(registers.getRegister(index).toUnsignedShort());
-            case INT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0));
-            }
-            case UINT32: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
-            }
-            case FLOAT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0));
-            }
-            case INT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
-            }
-            case UINT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array())));
-            }
-            case INT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0));
-            }
-            case UINT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
-            }
-            case FLOAT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0));
-            }
-            case INT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
-            }
-            case UINT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array())));
-            }
+                return registers.getUnsignedShort(index);
+            case INT32:
+            case FLOAT32:
+                return (int) ((registers.getUnsignedShort(index) << 16) | registers.getUnsignedShort(index + 1));
+            case UINT32:
+                return ((long) registers.getUnsignedShort(index) << 16) | registers.getUnsignedShort(index + 1);
+            case INT32_SWAP:
+            case FLOAT32_SWAP:
+                return (int) ((registers.getUnsignedShort(index + 1) << 16) | registers.getUnsignedShort(index));
+            case UINT32_SWAP:
+                return ((long) registers.getUnsignedShort(index + 1) << 16) | registers.getUnsignedShort(index);
+            case INT64:
+            case UINT64:
+                return ((long) registers.getUnsignedShort(index) << 48)
+                        | ((long) registers.getUnsignedShort(index + 1) << 32)
+                        | ((long) registers.getUnsignedShort(index + 2) << 16) | registers.getUnsignedShort(index + 3);
+            case INT64_SWAP:
+            case UINT64_SWAP:
+                return ((long) registers.getUnsignedShort(index + 3) << 48)
+                        | ((long) registers.getUnsignedShort(index + 2) << 32)
+                        | ((long) registers.getUnsignedShort(index + 1) << 16) | registers.getUnsignedShort(index);
             default:
                 throw new IllegalArgumentException(type.getConfigValue());
         }
     }
 
+    /**
+     * Read the raw bits of several values of the same type from registers in one pass
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param indices zero based item indices, see
+     *            {@link #extractStateFromRegisters(ModbusRegisterArray, int, ValueType)}
+     * @param type item type
+     * @param values array receiving the raw bits of each value, see
+     *            {@link #extractRawFromRegisters(ModbusRegisterArray, int, ValueType)}. Must be at least as long as
+     *            <tt>indices</tt>
+     * @throws IllegalArgumentException when any of the <tt>indices</tt> is out of bounds of registers
+     */
+    public static void extractRawFromRegisters(ModbusRegisterArray registers, int[] indices,
+            ModbusConstants.ValueType type, long[] values) {
+        if (values.length < indices.length) {
+            throw new IllegalArgumentException("values array is shorter than indices array");
+        }
+        for (int i = 0; i < indices.length; i++) {
+            values[i] = extractRawFromRegisters(registers, indices[i], type);
+        }
+    }
+
+    /**
+     * Read data from registers and convert the result to long
+     *
+     * Floating point values are truncated, UINT64 values above {@link Long#MAX_VALUE} are returned as negative numbers.
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index, see {@link #extractStateFromRegisters(ModbusRegisterArray, int, ValueType)}
+     * @param type item type
+     * @return queried value
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static long extractLongFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
+        long raw = extractRawFromRegisters(registers, index, type);
+        return isFloat(type) ? (long) Float.intBitsToFloat((int) raw) : raw;
+    }
+
+    /**
+     * Read data from registers and convert the result to int
+     *
+     * Values not fitting into an int are truncated as with a cast from long.
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index, see {@link #extractStateFromRegisters(ModbusRegisterArray, int, ValueType)}
+     * @param type item type
+     * @return queried value
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static int extractIntFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
+        return (int) extractLongFromRegisters(registers, index, type);
+    }
+
+    /**
+     * Read data from registers and convert the result to double
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index, see {@link #extractStateFromRegisters(ModbusRegisterArray, int, ValueType)}
+     * @param type item type
+     * @return queried value
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static double extractDoubleFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
+        long raw = extractRawFromRegisters(registers, index, type);
+        if (isFloat(type)) {
+            return Float.intBitsToFloat((int) raw);
+        } else if (raw < 0 && (type == ModbusConstants.ValueType.UINT64
+                || type == ModbusConstants.ValueType.UINT64_SWAP)) {
+            // unsigned conversion: halve, convert and double, keeping the lowest bit for rounding
+            return ((raw >>> 1) | (raw & 1)) * 2.0;
+        }
+        return raw;
+    }
+
+    /**
+     * Read data from registers and convert the result to float
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index, see {@link #extractStateFromRegisters(ModbusRegisterArray, int, ValueType)}
+     * @param type item type
+     * @return queried value
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static float extractFloatFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
+        return (float) extractDoubleFromRegisters(registers, index, type);
+    }
+
+    /**
+     * Read several values of the same type from registers in one pass, converting them to double
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param indices zero based item indices, see
+     *            {@link #extractStateFromRegisters(ModbusRegisterArray, int, ValueType)}
+     * @param type item type
+     * @param values array receiving the values. Must be at least as long as <tt>indices</tt>
+     * @throws IllegalArgumentException when any of the <tt>indices</tt> is out of bounds of registers
+     */
+    public static void extractDoublesFromRegisters(ModbusRegisterArray registers, int[] indices,
+            ModbusConstants.ValueType type, double[] values) {
+        if (values.length < indices.length) {
+            throw new IllegalArgumentException("values array is shorter than indices array");
+        }
+        for (int i = 0; i < indices.length; i++) {
+            values[i] = extractDoubleFromRegisters(registers, indices[i], type);
+        }
+    }
+
+    private static boolean isFloat(ModbusConstants.ValueType type) {
+        return type == ModbusConstants.ValueType.FLOAT32 || type == ModbusConstants.ValueType.FLOAT32_SWAP;
+    }
+
     /**
      * Read data from registers and convert the result to StringType
      * Strings should start the the first byte of a register, but could
@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Runtime metrics of the Modbus operations executed by the {@link ModbusManager}
+ *
+ * Metrics are collected from the time the manager is activated, or since the last {@link #reset()}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface ModbusMetrics {
+
+    /**
+     * Get statistics of all operations (polls and writes) per endpoint
+     *
+     * @return statistics by endpoint
+     */
+    public Map<ModbusSlaveEndpoint, ModbusOperationStatistics> getEndpointStatistics();
+
+    /**
+     * Get statistics of the registered regular polls
+     *
+     * @return statistics by poll task
+     */
+    public Map<PollTask, ModbusOperationStatistics> getPollTaskStatistics();
+
+    /**
+     * Get statistics of the operation queue of each endpoint
+     *
+     * @return statistics by endpoint
+     */
+    public Map<ModbusSlaveEndpoint, ModbusQueueStatistics> getQueueStatistics();
+
+    /**
+     * Reset all statistics
+     */
+    public void reset();
+
+}
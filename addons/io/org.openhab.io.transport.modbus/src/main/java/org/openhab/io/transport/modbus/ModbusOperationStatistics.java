@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Statistics of Modbus operations, i.e. polls or writes including their retries
+ *
+ * Durations are collected in histograms with a resolution of about 25 %, percentiles are reported as the upper bound
+ * of the matching histogram bucket.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface ModbusOperationStatistics {
+
+    /**
+     * @return number of operations
+     */
+    public long getOperations();
+
+    /**
+     * @return number of operations that failed after all tries
+     */
+    public long getFailures();
+
+    /**
+     * @return number of tries beyond the first one
+     */
+    public long getRetries();
+
+    /**
+     * @return number of connections invalidated, i.e. disconnected due to errors
+     */
+    public long getConnectionInvalidations();
+
+    /**
+     * @return number of responses whose transaction ID did not match the request
+     */
+    public long getTransactionIdMismatches();
+
+    /**
+     * Get a percentile of the total operation time
+     *
+     * @param percentile percentile between 0 and 100
+     * @return operation time in milliseconds
+     */
+    public long getLatencyPercentileMillis(double percentile);
+
+    /**
+     * Get a percentile of the time spent in transactions with the slave
+     *
+     * @param percentile percentile between 0 and 100
+     * @return transaction time in milliseconds
+     */
+    public long getTransactionPercentileMillis(double percentile);
+
+    /**
+     * Get a percentile of the time spent waiting for a connection from the pool, which includes the configured delays
+     * between transactions
+     *
+     * @param percentile percentile between 0 and 100
+     * @return pool wait time in milliseconds
+     */
+    public long getPoolWaitPercentileMillis(double percentile);
+
+    /**
+     * @return maximum total operation time in milliseconds
+     */
+    public long getMaxLatencyMillis();
+
+}
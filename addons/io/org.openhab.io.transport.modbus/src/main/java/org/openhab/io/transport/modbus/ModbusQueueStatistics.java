@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Statistics of the operation queue of one endpoint
+ *
+ * Lateness is the time an operation waited in the queue before it was started.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface ModbusQueueStatistics {
+
+    /**
+     * @return number of operations currently waiting in the queue
+     */
+    public int getQueueDepth();
+
+    /**
+     * @return maximum number of operations waiting in the queue
+     */
+    public int getMaxQueueDepth();
+
+    /**
+     * @return number of operations started
+     */
+    public long getExecuted();
+
+    /**
+     * @return number of operations dropped because their deadline passed before they could be started
+     */
+    public long getDropped();
+
+    public double getAverageLatenessMillis();
+
+    public long getMaxLatenessMillis();
+
+}
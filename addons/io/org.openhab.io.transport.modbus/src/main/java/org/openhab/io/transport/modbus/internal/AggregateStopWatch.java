@@ -49,6 +49,26 @@ public class AggregateStopWatch {
      */
     final SimpleStopWatch callback = new SimpleStopWatch();
 
+    /**
+     * Time waiting for a connection from the pool. Included in the connection time as well
+     */
+    final SimpleStopWatch poolWait = new SimpleStopWatch();
+
+    /**
+     * Number of tries, i.e. transactions started
+     */
+    int tries;
+
+    /**
+     * Number of connections invalidated due to errors
+     */
+    int connectionInvalidations;
+
+    /**
+     * Number of responses not matching the transaction ID of the request
+     */
+    int transactionIdMismatches;
+
     public AggregateStopWatch() {
         this.operationId = UUID.randomUUID().toString();
     }
@@ -57,7 +77,7 @@ public class AggregateStopWatch {
      * Suspend all running stopwatches of this aggregate
      */
     public void suspendAllRunning() {
-        for (SimpleStopWatch watch : new SimpleStopWatch[] { total, connection, transaction, callback }) {
+        for (SimpleStopWatch watch : new SimpleStopWatch[] { total, connection, transaction, callback, poolWait }) {
             if (watch.isRunning()) {
                 watch.suspend();
             }
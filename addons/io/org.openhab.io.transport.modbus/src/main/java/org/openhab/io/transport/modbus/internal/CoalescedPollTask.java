@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusConnectionException;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegister;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Poll task reading the combined range of several poll tasks with one request
+ *
+ * The task is its own callback: the response is sliced back to the ranges of the original poll tasks, and their
+ * callbacks are called with the original requests.
+ *
+ * Connection errors are passed to all callbacks. Other errors might be caused by merging the requests, e.g. a slave
+ * answering ILLEGAL DATA ADDRESS for the registers in a gap, so they are not passed to the callbacks. The original poll
+ * tasks should be executed one by one instead, see {@link #getError()}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CoalescedPollTask implements PollTask, ModbusReadCallback {
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(CoalescedPollTask.class);
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final ModbusReadRequestBlueprint request;
+    private final List<PollTask> tasks;
+    private volatile @Nullable Exception error;
+
+    /**
+     * Construct coalesced task
+     *
+     * @param endpoint endpoint of all the tasks
+     * @param request request covering the requests of all the tasks
+     * @param tasks the original poll tasks
+     */
+    public CoalescedPollTask(ModbusSlaveEndpoint endpoint, BasicModbusReadRequestBlueprint request,
+            List<PollTask> tasks) {
+        this.endpoint = endpoint;
+        this.request = request;
+        this.tasks = Collections.unmodifiableList(tasks);
+    }
+
+    @Override
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public ModbusReadRequestBlueprint getRequest() {
+        return request;
+    }
+
+    @Override
+    public ModbusReadCallback getCallback() {
+        return this;
+    }
+
+    /**
+     * Get the original poll tasks
+     *
+     * @return poll tasks whose requests are covered by this task
+     */
+    public List<PollTask> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Get the error of the coalesced request which was not passed to the callbacks of the original poll tasks
+     *
+     * @return the error, or <code>null</code> if the request succeeded or failed to connect
+     */
+    public @Nullable Exception getError() {
+        return error;
+    }
+
+    @Override
+    public void onRegisters(ModbusReadRequestBlueprint coalescedRequest, ModbusRegisterArray registers) {
+        for (PollTask task : tasks) {
+            ModbusReadCallback callback = task.getCallback();
+            if (callback == null) {
+                continue;
+            }
+            ModbusReadRequestBlueprint taskRequest = task.getRequest();
+            int offset = taskRequest.getReference() - request.getReference();
+            int length = taskRequest.getDataLength();
+            if (offset + length > registers.size()) {
+                invokeCallback(task, () -> callback.onError(taskRequest, shortResponse(registers.size())));
+                continue;
+            }
+            ModbusRegister[] slice = new ModbusRegister[length];
+            for (int i = 0; i < length; i++) {
+                slice[i] = registers.getRegister(offset + i);
+            }
+            invokeCallback(task, () -> callback.onRegisters(taskRequest, new BasicModbusRegisterArray(slice)));
+        }
+    }
+
+    @Override
+    public void onBits(ModbusReadRequestBlueprint coalescedRequest, BitArray bits) {
+        for (PollTask task : tasks) {
+            ModbusReadCallback callback = task.getCallback();
+            if (callback == null) {
+                continue;
+            }
+            ModbusReadRequestBlueprint taskRequest = task.getRequest();
+            int offset = taskRequest.getReference() - request.getReference();
+            int length = taskRequest.getDataLength();
+            if (offset + length > bits.size()) {
+                invokeCallback(task, () -> callback.onError(taskRequest, shortResponse(bits.size())));
+                continue;
+            }
+            BasicBitArray slice = new BasicBitArray(length);
+            for (int i = 0; i < length; i++) {
+                slice.setBit(i, bits.getBit(offset + i));
+            }
+            invokeCallback(task, () -> callback.onBits(taskRequest, slice));
+        }
+    }
+
+    @Override
+    public void onError(ModbusReadRequestBlueprint coalescedRequest, Exception error) {
+        if (!(error instanceof ModbusConnectionException)) {
+            logger.debug("Coalesced request {} failed, the original requests need to be executed one by one: {} {}",
+                    request, error.getClass().getName(), error.getMessage());
+            this.error = error;
+            return;
+        }
+        for (PollTask task : tasks) {
+            ModbusReadCallback callback = task.getCallback();
+            if (callback != null) {
+                invokeCallback(task, () -> callback.onError(task.getRequest(), error));
+            }
+        }
+    }
+
+    /**
+     * Call the callback of one of the tasks, making sure that a failing callback does not prevent calling the others
+     */
+    private void invokeCallback(PollTask task, Runnable invocation) {
+        try {
+            invocation.run();
+        } catch (RuntimeException e) {
+            logger.warn("Callback of coalesced poll task {} failed: {} {}", task, e.getClass().getName(),
+                    e.getMessage(), e);
+        }
+    }
+
+    private Exception shortResponse(int size) {
+        return new ModbusSlaveIOExceptionImpl(new IOException(String.format(
+                "Response to coalesced request %s contained only %d items", request, size)));
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("request", request).append("endpoint", endpoint)
+                .append("tasks", tasks.size()).toString();
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.io.transport.modbus.ModbusMetrics;
+import org.openhab.io.transport.modbus.ModbusOperationStatistics;
+import org.openhab.io.transport.modbus.ModbusQueueStatistics;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link ModbusConsoleCommandExtension} prints the {@link ModbusMetrics} of the Modbus transport.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = ConsoleCommandExtension.class)
+public class ModbusConsoleCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String SUBCMD_ENDPOINTS = "endpoints";
+    private static final String SUBCMD_POLLS = "polls";
+    private static final String SUBCMD_QUEUES = "queues";
+    private static final String SUBCMD_RESET = "reset";
+
+    private ModbusMetrics metrics;
+
+    public ModbusConsoleCommandExtension() {
+        super("modbus", "Modbus transport statistics.");
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 0) {
+            printUsage(console);
+            return;
+        }
+        switch (args[0]) {
+            case SUBCMD_ENDPOINTS:
+                printOperationStatistics(console, metrics.getEndpointStatistics());
+                break;
+            case SUBCMD_POLLS:
+                printOperationStatistics(console, metrics.getPollTaskStatistics());
+                break;
+            case SUBCMD_QUEUES:
+                for (Map.Entry<ModbusSlaveEndpoint, ModbusQueueStatistics> entry : metrics.getQueueStatistics()
+                        .entrySet()) {
+                    ModbusQueueStatistics statistics = entry.getValue();
+                    console.println(entry.getKey().toString());
+                    console.println(String.format("  queue depth: %d (max %d), executed: %d, dropped: %d",
+                            statistics.getQueueDepth(), statistics.getMaxQueueDepth(), statistics.getExecuted(),
+                            statistics.getDropped()));
+                    console.println(String.format("  lateness: avg %.1f ms, max %d ms",
+                            statistics.getAverageLatenessMillis(), statistics.getMaxLatenessMillis()));
+                }
+                break;
+            case SUBCMD_RESET:
+                metrics.reset();
+                console.println("Statistics reset.");
+                break;
+            default:
+                printUsage(console);
+                break;
+        }
+    }
+
+    private void printOperationStatistics(Console console, Map<?, ModbusOperationStatistics> statistics) {
+        for (Map.Entry<?, ModbusOperationStatistics> entry : statistics.entrySet()) {
+            Object key = entry.getKey();
+            ModbusOperationStatistics value = entry.getValue();
+            console.println(key instanceof PollTask ? describe((PollTask) key) : key.toString());
+            console.println(String.format(
+                    "  operations: %d, failures: %d, retries: %d, invalidations: %d, transaction ID mismatches: %d",
+                    value.getOperations(), value.getFailures(), value.getRetries(), value.getConnectionInvalidations(),
+                    value.getTransactionIdMismatches()));
+            console.println(String.format("  latency p50/p95/p99/max: %d/%d/%d/%d ms",
+                    value.getLatencyPercentileMillis(50), value.getLatencyPercentileMillis(95),
+                    value.getLatencyPercentileMillis(99), value.getMaxLatencyMillis()));
+            console.println(String.format("  transaction p50/p95: %d/%d ms, pool wait p50/p95: %d/%d ms",
+                    value.getTransactionPercentileMillis(50), value.getTransactionPercentileMillis(95),
+                    value.getPoolWaitPercentileMillis(50), value.getPoolWaitPercentileMillis(95)));
+        }
+    }
+
+    private static String describe(PollTask task) {
+        return String.format("%s unit %d %s start %d length %d", task.getEndpoint(), task.getRequest().getUnitID(),
+                task.getRequest().getFunctionCode(), task.getRequest().getReference(),
+                task.getRequest().getDataLength());
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Arrays.asList(new String[] {
+                buildCommandUsage(SUBCMD_ENDPOINTS, "show the operation statistics of each endpoint"),
+                buildCommandUsage(SUBCMD_POLLS, "show the operation statistics of each regular poll"),
+                buildCommandUsage(SUBCMD_QUEUES, "show the queue statistics of each endpoint"),
+                buildCommandUsage(SUBCMD_RESET, "reset all statistics") });
+    }
+
+    @Reference
+    protected void setModbusMetrics(ModbusMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    protected void unsetModbusMetrics(ModbusMetrics metrics) {
+        this.metrics = null;
+    }
+}
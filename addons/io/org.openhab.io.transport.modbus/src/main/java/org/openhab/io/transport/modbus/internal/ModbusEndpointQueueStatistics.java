@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.ModbusQueueStatistics;
+
+/**
+ * Statistics of the operation queue of one endpoint, collected by the {@link ModbusEndpointScheduler}
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusEndpointQueueStatistics implements ModbusQueueStatistics {
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder totalLatenessMillis = new LongAdder();
+    private final AtomicLong maxLatenessMillis = new AtomicLong();
+
+    void recordQueueDepth(int depth) {
+        queueDepth.set(depth);
+        maxQueueDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    void recordExecuted(long latenessMillis) {
+        executed.increment();
+        totalLatenessMillis.add(latenessMillis);
+        maxLatenessMillis.accumulateAndGet(latenessMillis, Math::max);
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    /**
+     * Reset the counters. The current queue depth is kept
+     */
+    void reset() {
+        maxQueueDepth.set(queueDepth.get());
+        executed.reset();
+        dropped.reset();
+        totalLatenessMillis.reset();
+        maxLatenessMillis.set(0);
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    @Override
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    @Override
+    public long getExecuted() {
+        return executed.sum();
+    }
+
+    @Override
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public double getAverageLatenessMillis() {
+        long count = executed.sum();
+        return count == 0 ? 0 : (double) totalLatenessMillis.sum() / count;
+    }
+
+    @Override
+    public long getMaxLatenessMillis() {
+        return maxLatenessMillis.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("{queue depth: %d (max %d), executed: %d, dropped: %d, lateness avg %.1f ms, max %d ms}",
+                getQueueDepth(), getMaxQueueDepth(), getExecuted(), getDropped(), getAverageLatenessMillis(),
+                getMaxLatenessMillis());
+    }
+}
@@ -0,0 +1,230 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes Modbus operations one at a time per endpoint, while different endpoints are served in parallel
+ *
+ * Each endpoint has its own queue. Operations with higher priority (writes and one-off polls) are executed before
+ * operations with lower priority (regular polls), and operations of the same priority in order of their deadline.
+ * Operations not started before their deadline are dropped: a regular poll that could not be executed in time is
+ * superseded by the next poll of the same task.
+ *
+ * Endpoints take turns in the executor, one operation per turn, so that a slow endpoint with a long queue does not
+ * block the threads needed by the other endpoints.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusEndpointScheduler {
+
+    /**
+     * Priority of an operation
+     */
+    public enum Priority {
+        /**
+         * One-off operations, i.e. writes and one-off polls
+         */
+        HIGH,
+        /**
+         * Regular polls
+         */
+        NORMAL
+    }
+
+    /**
+     * Deadline of operations that are never dropped
+     */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private static final Comparator<QueuedOperation> EXECUTION_ORDER = Comparator
+            .<QueuedOperation, Priority> comparing(op -> op.priority).thenComparingLong(op -> op.deadlineMillis)
+            .thenComparingLong(op -> op.sequence);
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusEndpointScheduler.class);
+    private final Executor executor;
+    private final Map<ModbusSlaveEndpoint, EndpointQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private static class QueuedOperation extends FutureTask<@Nullable Void> implements ScheduledFuture<@Nullable Void> {
+        private final Priority priority;
+        private final long deadlineMillis;
+        private final long queuedMillis;
+        private final long sequence;
+
+        QueuedOperation(Runnable operation, Priority priority, long deadlineMillis, long sequence) {
+            super(operation, null);
+            this.priority = priority;
+            this.deadlineMillis = deadlineMillis;
+            this.queuedMillis = System.currentTimeMillis();
+            this.sequence = sequence;
+        }
+
+        @Override
+        public long getDelay(@Nullable TimeUnit unit) {
+            // queued operations are due immediately, they only wait for their turn
+            return 0;
+        }
+
+        @Override
+        public int compareTo(@Nullable Delayed other) {
+            return other == null ? 1 : Long.compare(0, other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private class EndpointQueue implements Runnable {
+        private final ModbusSlaveEndpoint endpoint;
+        private final PriorityQueue<QueuedOperation> operations = new PriorityQueue<>(EXECUTION_ORDER);
+        private final ModbusEndpointQueueStatistics statistics = new ModbusEndpointQueueStatistics();
+        /**
+         * Whether a turn of this queue is submitted to the executor or running. Guarded by this
+         */
+        private boolean scheduled;
+
+        EndpointQueue(ModbusSlaveEndpoint endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void add(QueuedOperation operation) {
+            synchronized (this) {
+                operations.add(operation);
+                statistics.recordQueueDepth(operations.size());
+                if (scheduled) {
+                    return;
+                }
+                scheduled = true;
+            }
+            scheduleTurn();
+        }
+
+        void cancelAll() {
+            synchronized (this) {
+                operations.forEach(op -> op.cancel(false));
+                operations.clear();
+                statistics.recordQueueDepth(0);
+            }
+        }
+
+        private void scheduleTurn() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                logger.warn("Could not schedule operations of endpoint {}: {}", endpoint, e.getMessage());
+                synchronized (this) {
+                    scheduled = false;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            QueuedOperation operation;
+            synchronized (this) {
+                operation = operations.poll();
+                statistics.recordQueueDepth(operations.size());
+            }
+            try {
+                if (operation != null && !operation.isCancelled()) {
+                    long now = System.currentTimeMillis();
+                    if (now > operation.deadlineMillis) {
+                        logger.debug("Dropping operation of endpoint {}, deadline passed {} ms ago", endpoint,
+                                now - operation.deadlineMillis);
+                        statistics.recordDropped();
+                        operation.cancel(false);
+                    } else {
+                        statistics.recordExecuted(now - operation.queuedMillis);
+                        operation.run();
+                    }
+                }
+            } finally {
+                boolean more;
+                synchronized (this) {
+                    more = !operations.isEmpty();
+                    scheduled = more;
+                }
+                if (more) {
+                    // give other endpoints a turn before executing the next operation
+                    scheduleTurn();
+                }
+            }
+        }
+    }
+
+    /**
+     * @param executor executor running the operations
+     */
+    public ModbusEndpointScheduler(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Queue an operation
+     *
+     * @param endpoint endpoint the operation communicates with
+     * @param priority priority of the operation
+     * @param deadlineMillis time (in epoch milliseconds) after which the operation is dropped if it has not been started
+     *            yet, or {@link #NO_DEADLINE}
+     * @param operation operation to execute
+     * @return future representing the queued operation
+     */
+    public ScheduledFuture<?> submit(ModbusSlaveEndpoint endpoint, Priority priority, long deadlineMillis,
+            Runnable operation) {
+        QueuedOperation queued = new QueuedOperation(operation, priority, deadlineMillis,
+                sequence.getAndIncrement());
+        queues.computeIfAbsent(endpoint, EndpointQueue::new).add(queued);
+        return queued;
+    }
+
+    /**
+     * Cancel all queued operations. Operations already running are not interrupted
+     */
+    public void cancelAll() {
+        queues.values().forEach(EndpointQueue::cancelAll);
+    }
+
+    /**
+     * Reset the queue statistics of all endpoints
+     */
+    public void resetStatistics() {
+        queues.values().forEach(queue -> queue.statistics.reset());
+    }
+
+    /**
+     * @return queue statistics of every endpoint that operations have been submitted for
+     */
+    public Map<ModbusSlaveEndpoint, ModbusEndpointQueueStatistics> getStatistics() {
+        Map<ModbusSlaveEndpoint, ModbusEndpointQueueStatistics> statistics = new HashMap<>();
+        queues.forEach((endpoint, queue) -> statistics.put(endpoint, queue.statistics));
+        return Collections.unmodifiableMap(statistics);
+    }
+}
@@ -13,7 +13,13 @@
 package org.openhab.io.transport.modbus.internal;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -39,9 +45,13 @@ import org.openhab.io.transport.modbus.ModbusCallback;
 import org.openhab.io.transport.modbus.ModbusConnectionException;
 import org.openhab.io.transport.modbus.ModbusManager;
 import org.openhab.io.transport.modbus.ModbusManagerListener;
+import org.openhab.io.transport.modbus.ModbusMetrics;
+import org.openhab.io.transport.modbus.ModbusOperationStatistics;
+import org.openhab.io.transport.modbus.ModbusQueueStatistics;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
 import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
 import org.openhab.io.transport.modbus.ModbusRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusSlaveErrorResponseException;
 import org.openhab.io.transport.modbus.ModbusUnexpectedTransactionIdException;
 import org.openhab.io.transport.modbus.ModbusWriteCallback;
 import org.openhab.io.transport.modbus.ModbusWriteRequestBlueprint;
@@ -54,6 +64,7 @@ import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpointVisitor;
 import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusUDPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.ModbusEndpointScheduler.Priority;
 import org.openhab.io.transport.modbus.internal.pooling.ModbusSlaveConnectionFactoryImpl;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -66,9 +77,12 @@ import net.wimpi.modbus.ModbusException;
 import net.wimpi.modbus.ModbusIOException;
 import net.wimpi.modbus.ModbusSlaveException;
 import net.wimpi.modbus.io.ModbusTransaction;
+import net.wimpi.modbus.io.ModbusTransport;
+import net.wimpi.modbus.msg.ExceptionResponse;
 import net.wimpi.modbus.msg.ModbusRequest;
 import net.wimpi.modbus.msg.ModbusResponse;
 import net.wimpi.modbus.net.ModbusSlaveConnection;
+import net.wimpi.modbus.net.TCPMasterConnection;
 
 /**
  * Main implementation of ModbusManager
@@ -77,11 +91,28 @@ import net.wimpi.modbus.net.ModbusSlaveConnection;
  * important with serial slaves but practice has shown that even many tcp slaves have limited
  * capability to handle many connections at the same time
  *
+ * Operations are queued per endpoint (see {@link ModbusEndpointScheduler}), so that a slow endpoint does not occupy
+ * the threads needed by other endpoints. Writes and one-off polls are executed before regular polls, and regular polls
+ * that could not be started before the next poll of the same task is due are dropped.
+ *
+ * The manager collects statistics of the operations per endpoint and per regular poll, available as the
+ * {@link ModbusMetrics} service.
+ *
+ * Optionally, regular polls of the same endpoint and poll period are coalesced: they are polled together, and
+ * requests reading neighbouring registers are merged into a single request (see {@link ModbusReadPlanner}).
+ * When a merged request fails, the original requests are executed one by one, and if the slave rejected the merged
+ * request with an exception response, they are no longer merged.
+ *
+ * Regular polls of TCP endpoints allowing several outstanding transactions (see
+ * {@link EndpointPoolConfiguration#getMaxOutstandingTransactions()}) are polled together as well, and their requests
+ * are pipelined on one connection (see {@link ModbusTCPPipeline}).
+ *
  * @author Sami Salonen - Initial contribution
  */
-@Component(service = ModbusManager.class, immediate = true, configurationPid = "transport.modbus")
+@Component(service = { ModbusManager.class,
+        ModbusMetrics.class }, immediate = true, configurationPid = "transport.modbus")
 @NonNullByDefault
-public class ModbusManagerImpl implements ModbusManager {
+public class ModbusManagerImpl implements ModbusManager, ModbusMetrics {
 
     static class PollTaskUnregistered extends Exception {
         public PollTaskUnregistered(String msg) {
@@ -91,6 +122,19 @@ public class ModbusManagerImpl implements ModbusManager {
         private static final long serialVersionUID = 6939730579178506885L;
     }
 
+    /**
+     * Regular poll tasks sharing endpoint and poll period, polled together when coalescing or pipelining is enabled
+     */
+    private static class PollGroup {
+        private final Set<PollTask> tasks = new CopyOnWriteArraySet<>();
+        /**
+         * Tasks whose requests the slave rejected when coalesced with others, they are no longer coalesced
+         */
+        private final Set<PollTask> uncoalescedTasks = new CopyOnWriteArraySet<>();
+        @Nullable
+        private ScheduledFuture<?> future;
+    }
+
     @FunctionalInterface
     private interface ModbusOperation<T> {
 
@@ -247,6 +291,16 @@ public class ModbusManagerImpl implements ModbusManager {
      * Presumably slow callbacks can increase queue size with callbackThreadPool
      */
     private static final long WARN_QUEUE_SIZE = 500;
+
+    /**
+     * Configuration key for enabling coalescing of regular polls
+     */
+    private static final String CONFIG_COALESCE_READS = "coalesceReads";
+
+    /**
+     * Configuration key for the maximum number of unrequested registers (or bits) between two coalesced requests
+     */
+    private static final String CONFIG_COALESCE_MAX_GAP = "coalesceMaxGap";
     private static final long MONITOR_QUEUE_INTERVAL_MILLIS = 10000;
 
     private final PollOperation pollOperation = new PollOperation();
@@ -268,11 +322,27 @@ public class ModbusManagerImpl implements ModbusManager {
     @Nullable
     private volatile ModbusSlaveConnectionFactoryImpl connectionFactory;
     private volatile Map<PollTask, ScheduledFuture<?>> scheduledPollTasks = new ConcurrentHashMap<>();
+    /**
+     * Poll groups by endpoint and poll period, used when coalescing or pipelining is enabled
+     */
+    private final Map<List<Object>, PollGroup> pollGroups = new ConcurrentHashMap<>();
+    /**
+     * Statistics of the operations per endpoint and per registered regular poll
+     */
+    private final Map<ModbusSlaveEndpoint, ModbusOperationStatisticsImpl> endpointStatistics = new ConcurrentHashMap<>();
+    private final Map<PollTask, ModbusOperationStatisticsImpl> pollTaskStatistics = new ConcurrentHashMap<>();
+    private volatile boolean coalesceReads;
+    private volatile int coalesceMaxGap;
     /**
      * Executor for requests
      */
     @Nullable
     private volatile ScheduledExecutorService scheduledThreadPoolExecutor;
+    /**
+     * Queues the requests per endpoint, and executes them using the scheduledThreadPoolExecutor
+     */
+    @Nullable
+    private volatile ModbusEndpointScheduler endpointScheduler;
     private volatile Collection<ModbusManagerListener> listeners = new CopyOnWriteArraySet<>();
     @Nullable
     private volatile ScheduledFuture<?> monitorFuture;
@@ -418,7 +488,8 @@ public class ModbusManagerImpl implements ModbusManager {
         ModbusSlaveEndpoint endpoint = task.getEndpoint();
 
         ModbusRequestBlueprint request = task.getRequest();
-        Optional<ModbusSlaveConnection> connection = timer.connection.timeSupplier(() -> borrowConnection(endpoint));
+        Optional<ModbusSlaveConnection> connection = timer.connection
+                .timeSupplier(() -> timer.poolWait.timeSupplier(() -> borrowConnection(endpoint)));
         logger.trace("Executing task {} (oneOff={})! Connection received in {} ms [operation ID {}]", task, oneOffTask,
                 System.currentTimeMillis() - connectionBorrowStart, operationId);
         if (scheduledThreadPoolExecutor == null) {
@@ -517,6 +588,8 @@ public class ModbusManagerImpl implements ModbusManager {
         }
 
         Optional<ModbusSlaveConnection> connection = Optional.empty();
+        boolean succeeded = false;
+        boolean unregistered = false;
         try {
             logger.trace("Starting new operation with task {}. Trying to get connection [operation ID {}]", task,
                     operationId);
@@ -571,9 +644,11 @@ public class ModbusManagerImpl implements ModbusManager {
                 boolean willRetry = false;
                 try {
                     tryIndex++;
+                    timer.tries++;
                     willRetry = tryIndex < maxTries;
                     operation.accept(timer, task, connection.get());
                     lastError.set(null);
+                    succeeded = true;
                     break;
                 } catch (IOException e) {
                     lastError.set(new ModbusSlaveIOExceptionImpl(e));
@@ -590,6 +665,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     }
                     // Invalidate connection, and empty (so that new connection is acquired before new retry)
                     timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
+                    timer.connectionInvalidations++;
                     connection = Optional.empty();
                     continue;
                 } catch (ModbusIOException e) {
@@ -607,6 +683,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     }
                     // Invalidate connection, and empty (so that new connection is acquired before new retry)
                     timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
+                    timer.connectionInvalidations++;
                     connection = Optional.empty();
                     continue;
                 } catch (ModbusSlaveException e) {
@@ -624,6 +701,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     continue;
                 } catch (ModbusUnexpectedTransactionIdException e) {
                     lastError.set(e);
+                    timer.transactionIdMismatches++;
                     // transaction error details already logged
                     if (willRetry) {
                         logger.warn(
@@ -636,6 +714,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     }
                     // Invalidate connection, and empty (so that new connection is acquired before new retry)
                     timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
+                    timer.connectionInvalidations++;
                     connection = Optional.empty();
                     continue;
                 } catch (ModbusException e) {
@@ -652,6 +731,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     }
                     // Invalidate connection, and empty (so that new connection is acquired before new retry)
                     timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
+                    timer.connectionInvalidations++;
                     connection = Optional.empty();
                     continue;
                 } finally {
@@ -675,33 +755,98 @@ public class ModbusManagerImpl implements ModbusManager {
         } catch (PollTaskUnregistered e) {
             logger.warn("Poll task was unregistered -- not executing/proceeding with the poll: {} [operation ID {}]",
                     e.getMessage(), operationId);
+            unregistered = true;
             return;
         } catch (InterruptedException e) {
             logger.warn("Poll task was canceled -- not executing/proceeding with the poll: {} [operation ID {}]",
                     e.getMessage(), operationId);
             // Invalidate connection, and empty (so that new connection is acquired before new retry)
             timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
+            timer.connectionInvalidations++;
             connection = Optional.empty();
         } finally {
             timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
             logger.trace("Connection was returned to the pool, ending operation [operation ID {}]", operationId);
             timer.suspendAllRunning();
             logger.debug("Modbus operation ended, timing info: {} [operation ID {}]", timer, operationId);
+            if (!unregistered) {
+                recordStatistics(task, timer, !succeeded);
+            }
+        }
+    }
+
+    /**
+     * Record the statistics of an ended operation for its endpoint and, with registered regular polls, for the poll task
+     *
+     * @param task task of the operation
+     * @param timer timing and counters of the operation
+     * @param failed whether the operation failed
+     */
+    private void recordStatistics(TaskWithEndpoint<?, ?> task, AggregateStopWatch timer, boolean failed) {
+        endpointStatistics.computeIfAbsent(task.getEndpoint(), endpoint -> new ModbusOperationStatisticsImpl())
+                .record(timer, failed);
+        if (task instanceof CoalescedPollTask) {
+            if (((CoalescedPollTask) task).getError() != null) {
+                // the tasks are recorded when they are executed one by one
+                return;
+            }
+            for (PollTask coalescedTask : ((CoalescedPollTask) task).getTasks()) {
+                recordPollTaskStatistics(coalescedTask, timer, failed);
+            }
+        } else if (task instanceof PollTask) {
+            recordPollTaskStatistics((PollTask) task, timer, failed);
+        }
+    }
+
+    private void recordPollTaskStatistics(PollTask task, AggregateStopWatch timer, boolean failed) {
+        // one-off polls are not tracked, their statistics would accumulate without bounds
+        if (scheduledPollTasks.containsKey(task)) {
+            pollTaskStatistics.computeIfAbsent(task, t -> new ModbusOperationStatisticsImpl()).record(timer, failed);
+        }
+    }
+
+    @Override
+    public Map<ModbusSlaveEndpoint, ModbusOperationStatistics> getEndpointStatistics() {
+        return Collections.unmodifiableMap(new HashMap<>(endpointStatistics));
+    }
+
+    @Override
+    public Map<PollTask, ModbusOperationStatistics> getPollTaskStatistics() {
+        return Collections.unmodifiableMap(new HashMap<>(pollTaskStatistics));
+    }
+
+    @Override
+    public Map<ModbusSlaveEndpoint, ModbusQueueStatistics> getQueueStatistics() {
+        ModbusEndpointScheduler endpointScheduler = this.endpointScheduler;
+        if (endpointScheduler == null) {
+            return Collections.emptyMap();
+        }
+        return Collections.unmodifiableMap(new HashMap<>(endpointScheduler.getStatistics()));
+    }
+
+    @Override
+    public void reset() {
+        endpointStatistics.values().forEach(ModbusOperationStatisticsImpl::reset);
+        pollTaskStatistics.values().forEach(ModbusOperationStatisticsImpl::reset);
+        ModbusEndpointScheduler endpointScheduler = this.endpointScheduler;
+        if (endpointScheduler != null) {
+            endpointScheduler.resetStatistics();
         }
     }
 
     @Override
     public ScheduledFuture<?> submitOneTimePoll(PollTask task) {
-        ScheduledExecutorService executor = scheduledThreadPoolExecutor;
-        Objects.requireNonNull(executor, "Not activated!");
+        ModbusEndpointScheduler scheduler = endpointScheduler;
+        Objects.requireNonNull(scheduler, "Not activated!");
         long scheduleTime = System.currentTimeMillis();
         logger.debug("Scheduling one-off poll task {}", task);
-        ScheduledFuture<?> future = executor.schedule(() -> {
-            long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
-            logger.debug("Will now execute one-off poll task {}, waited in thread pool for {}", task,
-                    millisInThreadPoolWaiting);
-            executeOperation(task, true, pollOperation);
-        }, 0L, TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> future = scheduler.submit(task.getEndpoint(), Priority.HIGH,
+                ModbusEndpointScheduler.NO_DEADLINE, () -> {
+                    long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
+                    logger.debug("Will now execute one-off poll task {}, waited in thread pool for {}", task,
+                            millisInThreadPoolWaiting);
+                    executeOperation(task, true, pollOperation);
+                });
         return future;
     }
 
@@ -716,16 +861,21 @@ public class ModbusManagerImpl implements ModbusManager {
                 logger.trace("Unregistering previous poll task (possibly with different period)");
                 unregisterRegularPoll(task);
             }
-            ScheduledFuture<?> future = executor.scheduleWithFixedDelay(() -> {
-                long started = System.currentTimeMillis();
-                logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis, task,
-                        started);
-                executeOperation(task, false, pollOperation);
-                long finished = System.currentTimeMillis();
-                logger.debug(
-                        "Execution of scheduled ({}ms) poll task {} finished at {}. Was started at millis: {} (=duration of {} millis)",
-                        pollPeriodMillis, task, finished, started, finished - started);
-            }, initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
+            if (coalesceReads || getMaxOutstandingTransactions(task.getEndpoint()) > 1) {
+                registerGroupedPoll(executor, task, pollPeriodMillis, initialDelayMillis);
+                return;
+            }
+            ScheduledFuture<?> future = executor.scheduleWithFixedDelay(
+                    () -> submitRegularPoll(task.getEndpoint(), pollPeriodMillis, () -> {
+                        long started = System.currentTimeMillis();
+                        logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis,
+                                task, started);
+                        executeOperation(task, false, pollOperation);
+                        long finished = System.currentTimeMillis();
+                        logger.debug(
+                                "Execution of scheduled ({}ms) poll task {} finished at {}. Was started at millis: {} (=duration of {} millis)",
+                                pollPeriodMillis, task, finished, started, finished - started);
+                    }), initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
 
             scheduledPollTasks.put(task, future);
             logger.trace("Registered poll task {} with period {} using initial delay {}", task, pollPeriodMillis,
@@ -733,6 +883,211 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    /**
+     * Queue a regular poll for execution
+     *
+     * The poll is due when the next poll of the same task is queued, and is dropped if it has not been started by then.
+     *
+     * @param endpoint endpoint of the poll
+     * @param pollPeriodMillis poll period
+     * @param poll the poll to execute
+     */
+    private void submitRegularPoll(ModbusSlaveEndpoint endpoint, long pollPeriodMillis, Runnable poll) {
+        ModbusEndpointScheduler scheduler = endpointScheduler;
+        if (scheduler == null) {
+            // manager deactivated
+            return;
+        }
+        scheduler.submit(endpoint, Priority.NORMAL, System.currentTimeMillis() + pollPeriodMillis, poll);
+    }
+
+    private int getMaxOutstandingTransactions(ModbusSlaveEndpoint endpoint) {
+        ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
+        if (!(endpoint instanceof ModbusTCPSlaveEndpoint) || connectionFactory == null) {
+            return 1;
+        }
+        return Optional.ofNullable(connectionFactory.getEndpointPoolConfiguration(endpoint))
+                .map(EndpointPoolConfiguration::getMaxOutstandingTransactions).orElse(1);
+    }
+
+    private void registerGroupedPoll(ScheduledExecutorService executor, PollTask task, long pollPeriodMillis,
+            long initialDelayMillis) {
+        List<Object> key = Arrays.asList(task.getEndpoint(), pollPeriodMillis);
+        PollGroup group = pollGroups.get(key);
+        if (group == null) {
+            PollGroup newGroup = group = new PollGroup();
+            group.future = executor.scheduleWithFixedDelay(
+                    () -> submitRegularPoll(task.getEndpoint(), pollPeriodMillis,
+                            () -> executePollGroup(newGroup, pollPeriodMillis)),
+                    initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
+            pollGroups.put(key, group);
+        }
+        group.tasks.add(task);
+        ScheduledFuture<?> future = group.future;
+        if (future != null) {
+            scheduledPollTasks.put(task, future);
+        }
+        logger.trace("Registered poll task {} with period {} to poll group of {} tasks", task, pollPeriodMillis,
+                group.tasks.size());
+    }
+
+    private void executePollGroup(PollGroup group, long pollPeriodMillis) {
+        long started = System.currentTimeMillis();
+        List<PollTask> plan;
+        if (coalesceReads) {
+            List<PollTask> coalescedTasks = new ArrayList<>(group.tasks);
+            coalescedTasks.removeAll(group.uncoalescedTasks);
+            plan = ModbusReadPlanner.plan(coalescedTasks, coalesceMaxGap);
+            group.tasks.stream().filter(group.uncoalescedTasks::contains).forEach(plan::add);
+        } else {
+            plan = new ArrayList<>(group.tasks);
+        }
+        logger.debug("Executing {} scheduled ({}ms) poll tasks with {} requests. Current millis: {}",
+                group.tasks.size(), pollPeriodMillis, plan.size(), started);
+        if (plan.size() > 1) {
+            plan = executePipelinedPoll(plan);
+        }
+        for (PollTask task : plan) {
+            // coalesced tasks are not registered themselves, their tasks are checked when planning
+            executeOperation(task, task instanceof CoalescedPollTask, pollOperation);
+            if (task instanceof CoalescedPollTask) {
+                executeCoalescedPollFallback(group, (CoalescedPollTask) task);
+            }
+        }
+        logger.debug("Execution of {} scheduled ({}ms) poll tasks finished in {} millis", group.tasks.size(),
+                pollPeriodMillis, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Execute the original poll tasks of a failed coalesced poll one by one
+     *
+     * When the slave responded with an exception to the coalesced request, e.g. ILLEGAL DATA ADDRESS for the registers
+     * in a gap between the original requests, the tasks are no longer coalesced.
+     *
+     * @param group poll group of the tasks
+     * @param task the executed coalesced task
+     */
+    private void executeCoalescedPollFallback(PollGroup group, CoalescedPollTask task) {
+        Exception error = task.getError();
+        if (error == null) {
+            return;
+        }
+        if (error instanceof ModbusSlaveErrorResponseException) {
+            logger.info("Slave rejected coalesced request {}, no longer coalescing its {} poll tasks: {}",
+                    task.getRequest(), task.getTasks().size(), error.getMessage());
+            group.uncoalescedTasks.addAll(task.getTasks());
+        }
+        for (PollTask coalescedTask : task.getTasks()) {
+            executeOperation(coalescedTask, false, pollOperation);
+        }
+    }
+
+    /**
+     * Execute poll tasks of a TCP endpoint allowing several outstanding transactions with pipelined requests
+     *
+     * The requests are executed once, without retries. Tasks whose request failed, or all tasks if the endpoint does not
+     * support pipelining, are returned to be executed one by one, with the usual error handling and retries.
+     *
+     * @param tasks poll tasks of the same endpoint
+     * @return tasks that were not executed successfully
+     */
+    private List<PollTask> executePipelinedPoll(List<PollTask> tasks) {
+        ModbusSlaveEndpoint endpoint = tasks.get(0).getEndpoint();
+        int maxOutstanding = getMaxOutstandingTransactions(endpoint);
+        if (maxOutstanding <= 1) {
+            return tasks;
+        }
+        AggregateStopWatch timer = new AggregateStopWatch();
+        timer.total.resume();
+        String operationId = timer.operationId;
+
+        ModbusRequest[] requests = new ModbusRequest[tasks.size()];
+        @Nullable
+        ModbusResponse[] responses = new ModbusResponse[tasks.size()];
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = ModbusLibraryWrapper.createRequest(tasks.get(i).getRequest());
+        }
+
+        Optional<ModbusSlaveConnection> connection = timer.connection.timeSupplier(() -> borrowConnection(endpoint));
+        // the connection is only returned to the pool if its stream is known to be in sync, otherwise invalidated
+        boolean inSync = false;
+        try {
+            if (!connection.isPresent() || !(connection.get() instanceof TCPMasterConnection)) {
+                // connection errors are handled and reported when executing the tasks one by one
+                inSync = true;
+                return tasks;
+            }
+            ModbusTransport transport = ((TCPMasterConnection) connection.get()).getModbusTransport();
+            logger.trace("Executing {} pipelined requests with at most {} outstanding transactions [operation ID {}]",
+                    requests.length, maxOutstanding, operationId);
+            timer.tries++;
+            timer.transaction.timeRunnableWithModbusException(
+                    () -> ModbusTCPPipeline.execute(transport, requests, responses, maxOutstanding));
+            inSync = true;
+        } catch (ModbusException | RuntimeException e) {
+            // e.g. a runtime exception from the transport decoding a malformed frame
+            logger.warn(
+                    "Pipelined execution of {} requests with endpoint {} failed, executing the remaining requests one by one. Error details: {} {} [operation ID {}]",
+                    requests.length, endpoint, e.getClass().getName(), e.getMessage(), operationId);
+        } finally {
+            if (inSync) {
+                timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
+            } else {
+                // Invalidate connection, the stream might be out of sync
+                timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
+                timer.connectionInvalidations++;
+            }
+        }
+
+        List<PollTask> failed = new ArrayList<>();
+        for (int i = 0; i < responses.length; i++) {
+            PollTask task = tasks.get(i);
+            ModbusResponse response = responses[i];
+            if (response == null || response instanceof ExceptionResponse) {
+                failed.add(task);
+                continue;
+            }
+            logger.trace("Response for pipelined read request (FC={}, transaction ID={}): {} [operation ID {}]",
+                    response.getFunctionCode(), response.getTransactionID(), response.getHexMessage(), operationId);
+            ModbusReadCallback callback = task.getCallback();
+            if (callback != null) {
+                timer.callback.timeRunnable(
+                        () -> ModbusLibraryWrapper.invokeCallbackWithResponse(task.getRequest(), callback, response));
+            }
+        }
+        timer.suspendAllRunning();
+        logger.debug("Pipelined Modbus operation ended, {} of {} requests failed, timing info: {} [operation ID {}]",
+                failed.size(), tasks.size(), timer, operationId);
+        // successful requests share the timing of the pipelined operation, failed ones are recorded on re-execution
+        for (PollTask task : tasks) {
+            if (!failed.contains(task)) {
+                recordStatistics(task, timer, false);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Remove the task from its poll group
+     *
+     * @param task task to remove
+     * @return whether the poll group of the task still has other tasks, and must not be canceled
+     */
+    private boolean removeFromPollGroup(PollTask task) {
+        for (Iterator<PollGroup> iterator = pollGroups.values().iterator(); iterator.hasNext();) {
+            PollGroup group = iterator.next();
+            if (group.tasks.remove(task)) {
+                group.uncoalescedTasks.remove(task);
+                if (group.tasks.isEmpty()) {
+                    iterator.remove();
+                    return false;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
     @SuppressWarnings({ "null", "unused" })
     @Override
     public boolean unregisterRegularPoll(PollTask task) {
@@ -756,7 +1111,10 @@ public class ModbusManagerImpl implements ModbusManager {
             // is usually pretty soon as transactions should be relatively short-lived)
             factory.disconnectOnReturn(task.getEndpoint(), System.currentTimeMillis());
 
-            future.cancel(true);
+            if (!removeFromPollGroup(task)) {
+                future.cancel(true);
+            }
+            pollTaskStatistics.remove(task);
 
             logger.info("Poll task {} canceled", task);
 
@@ -777,16 +1135,17 @@ public class ModbusManagerImpl implements ModbusManager {
 
     @Override
     public ScheduledFuture<?> submitOneTimeWrite(WriteTask task) {
-        ScheduledExecutorService scheduledThreadPoolExecutor = this.scheduledThreadPoolExecutor;
-        Objects.requireNonNull(scheduledThreadPoolExecutor, "Not activated!");
+        ModbusEndpointScheduler scheduler = endpointScheduler;
+        Objects.requireNonNull(scheduler, "Not activated!");
         long scheduleTime = System.currentTimeMillis();
         logger.debug("Scheduling one-off write task {}", task);
-        ScheduledFuture<?> future = scheduledThreadPoolExecutor.schedule(() -> {
-            long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
-            logger.debug("Will now execute one-off write task {}, waited in thread pool for {}", task,
-                    millisInThreadPoolWaiting);
-            executeOperation(task, true, writeOperation);
-        }, 0L, TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> future = scheduler.submit(task.getEndpoint(), Priority.HIGH,
+                ModbusEndpointScheduler.NO_DEADLINE, () -> {
+                    long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
+                    logger.debug("Will now execute one-off write task {}, waited in thread pool for {}", task,
+                            millisInThreadPoolWaiting);
+                    executeOperation(task, true, writeOperation);
+                });
         return future;
     }
 
@@ -825,6 +1184,16 @@ public class ModbusManagerImpl implements ModbusManager {
     protected void activate(Map<String, Object> configProperties) {
         synchronized (this) {
             logger.info("Modbus manager activated");
+            coalesceReads = Boolean.parseBoolean(String.valueOf(configProperties.get(CONFIG_COALESCE_READS)));
+            coalesceMaxGap = 0;
+            Object maxGap = configProperties.get(CONFIG_COALESCE_MAX_GAP);
+            if (maxGap != null) {
+                try {
+                    coalesceMaxGap = Math.max(0, Integer.parseInt(maxGap.toString().trim()));
+                } catch (NumberFormatException e) {
+                    logger.warn("Ignoring invalid value '{}' for {}", maxGap, CONFIG_COALESCE_MAX_GAP);
+                }
+            }
             if (connectionPool == null) {
                 constructConnectionPool();
             }
@@ -837,6 +1206,7 @@ public class ModbusManagerImpl implements ModbusManager {
                 logger.error("Thread pool is shut down! Aborting activation of ModbusMangerImpl");
                 throw new IllegalStateException("Thread pool(s) shut down! Aborting activation of ModbusMangerImpl");
             }
+            endpointScheduler = new ModbusEndpointScheduler(scheduledThreadPoolExecutor);
             monitorFuture = scheduledThreadPoolExecutor.scheduleWithFixedDelay(this::logTaskQueueInfo, 0,
                     MONITOR_QUEUE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
         }
@@ -852,6 +1222,9 @@ public class ModbusManagerImpl implements ModbusManager {
                     unregisterRegularPoll(task);
                 }
 
+                pollGroups.clear();
+                endpointStatistics.clear();
+                pollTaskStatistics.clear();
                 connectionPool.close();
                 this.connectionPool = connectionPool = null;
             }
@@ -860,6 +1233,11 @@ public class ModbusManagerImpl implements ModbusManager {
                 monitorFuture.cancel(true);
                 monitorFuture = null;
             }
+            ModbusEndpointScheduler endpointScheduler = this.endpointScheduler;
+            if (endpointScheduler != null) {
+                endpointScheduler.cancelAll();
+                this.endpointScheduler = null;
+            }
             // Note that it is not allowed to shutdown the executor, since they will be reused when
             // when pool is received from ThreadPoolManager is called
             scheduledThreadPoolExecutor = null;
@@ -899,6 +1277,18 @@ public class ModbusManagerImpl implements ModbusManager {
                 }
             }
 
+            ModbusEndpointScheduler endpointScheduler = this.endpointScheduler;
+            if (endpointScheduler != null) {
+                endpointScheduler.getStatistics().forEach((endpoint, statistics) -> {
+                    pollMonitorLogger.trace("POLL MONITOR: endpoint {} queue: {}", endpoint, statistics);
+                    if (statistics.getQueueDepth() >= WARN_QUEUE_SIZE) {
+                        pollMonitorLogger.warn(
+                                "Many ({}) operations queued for endpoint {}! The endpoint cannot keep up with the requests.",
+                                statistics.getQueueDepth(), endpoint);
+                    }
+                });
+            }
+
             pollMonitorLogger.trace("</POLL MONITOR>");
         }
     }
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.ModbusOperationStatistics;
+
+/**
+ * Statistics of Modbus operations, recorded from the {@link AggregateStopWatch} of each operation
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusOperationStatisticsImpl implements ModbusOperationStatistics {
+
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder connectionInvalidations = new LongAdder();
+    private final LongAdder transactionIdMismatches = new LongAdder();
+    private final AtomicLong maxLatencyMillis = new AtomicLong();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram transaction = new LatencyHistogram();
+    private final LatencyHistogram poolWait = new LatencyHistogram();
+
+    /**
+     * Record an ended operation
+     *
+     * @param timer timing and counters of the operation, with all stop watches suspended
+     * @param failed whether the operation failed after all tries
+     */
+    void record(AggregateStopWatch timer, boolean failed) {
+        operations.increment();
+        if (failed) {
+            failures.increment();
+        }
+        retries.add(Math.max(0, timer.tries - 1));
+        connectionInvalidations.add(timer.connectionInvalidations);
+        transactionIdMismatches.add(timer.transactionIdMismatches);
+        long totalMillis = timer.total.getTotalTimeMillis();
+        maxLatencyMillis.accumulateAndGet(totalMillis, Math::max);
+        latency.record(totalMillis);
+        transaction.record(timer.transaction.getTotalTimeMillis());
+        poolWait.record(timer.poolWait.getTotalTimeMillis());
+    }
+
+    void reset() {
+        operations.reset();
+        failures.reset();
+        retries.reset();
+        connectionInvalidations.reset();
+        transactionIdMismatches.reset();
+        maxLatencyMillis.set(0);
+        latency.reset();
+        transaction.reset();
+        poolWait.reset();
+    }
+
+    @Override
+    public long getOperations() {
+        return operations.sum();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    @Override
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    @Override
+    public long getConnectionInvalidations() {
+        return connectionInvalidations.sum();
+    }
+
+    @Override
+    public long getTransactionIdMismatches() {
+        return transactionIdMismatches.sum();
+    }
+
+    @Override
+    public long getLatencyPercentileMillis(double percentile) {
+        return latency.getPercentile(percentile);
+    }
+
+    @Override
+    public long getTransactionPercentileMillis(double percentile) {
+        return transaction.getPercentile(percentile);
+    }
+
+    @Override
+    public long getPoolWaitPercentileMillis(double percentile) {
+        return poolWait.getPercentile(percentile);
+    }
+
+    @Override
+    public long getMaxLatencyMillis() {
+        return maxLatencyMillis.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "{operations: %d, failures: %d, retries: %d, invalidations: %d, transaction ID mismatches: %d, latency p50/p95/p99/max: %d/%d/%d/%d ms, transaction p95: %d ms, pool wait p95: %d ms}",
+                getOperations(), getFailures(), getRetries(), getConnectionInvalidations(),
+                getTransactionIdMismatches(), getLatencyPercentileMillis(50), getLatencyPercentileMillis(95),
+                getLatencyPercentileMillis(99), getMaxLatencyMillis(), getTransactionPercentileMillis(95),
+                getPoolWaitPercentileMillis(95));
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.PollTask;
+
+/**
+ * Plans the reads for a set of poll tasks, merging tasks which read neighbouring or overlapping ranges
+ *
+ * Tasks are merged when they share endpoint, unit ID, protocol ID and function code, the gap between their ranges is
+ * at most the given number of registers (or bits), and the merged range does not exceed the maximum size allowed by
+ * the Modbus protocol for a single read.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusReadPlanner {
+
+    /**
+     * Maximum number of registers read with a single request (function codes 3 and 4)
+     */
+    public static final int MAX_REGISTERS_PER_READ = 125;
+
+    /**
+     * Maximum number of coils or discrete inputs read with a single request (function codes 1 and 2)
+     */
+    public static final int MAX_BITS_PER_READ = 2000;
+
+    private static final Comparator<PollTask> BY_RANGE = Comparator
+            .<PollTask> comparingInt(task -> task.getRequest().getReference())
+            .thenComparing(Comparator.<PollTask> comparingInt(task -> task.getRequest().getDataLength()).reversed());
+
+    private ModbusReadPlanner() {
+    }
+
+    /**
+     * Plan the reads for the given poll tasks
+     *
+     * @param tasks poll tasks to read
+     * @param maxGap maximum number of unrequested registers (or bits) between two tasks which are still merged
+     * @return tasks to execute. Tasks which could not be merged with any other task are returned as is, others are
+     *         replaced by {@link CoalescedPollTask}s
+     */
+    public static List<PollTask> plan(Collection<PollTask> tasks, int maxGap) {
+        Map<List<Object>, List<PollTask>> compatibleTasks = new LinkedHashMap<>();
+        for (PollTask task : tasks) {
+            ModbusReadRequestBlueprint request = task.getRequest();
+            List<Object> key = Arrays.asList(task.getEndpoint(), request.getUnitID(), request.getProtocolID(),
+                    request.getFunctionCode());
+            compatibleTasks.computeIfAbsent(key, k -> new ArrayList<>()).add(task);
+        }
+
+        List<PollTask> plan = new ArrayList<>(tasks.size());
+        for (List<PollTask> group : compatibleTasks.values()) {
+            group.sort(BY_RANGE);
+            int maxLength = maxLength(group.get(0).getRequest().getFunctionCode());
+            List<PollTask> merged = new ArrayList<>();
+            int start = 0;
+            int end = 0;
+            for (PollTask task : group) {
+                ModbusReadRequestBlueprint request = task.getRequest();
+                int taskStart = request.getReference();
+                int taskEnd = taskStart + request.getDataLength();
+                if (!merged.isEmpty() && taskStart <= end + maxGap && Math.max(end, taskEnd) - start <= maxLength) {
+                    merged.add(task);
+                    end = Math.max(end, taskEnd);
+                    continue;
+                }
+                if (!merged.isEmpty()) {
+                    plan.add(createTask(merged, start, end));
+                }
+                merged = new ArrayList<>();
+                merged.add(task);
+                start = taskStart;
+                end = taskEnd;
+            }
+            if (!merged.isEmpty()) {
+                plan.add(createTask(merged, start, end));
+            }
+        }
+        return plan;
+    }
+
+    private static PollTask createTask(List<PollTask> tasks, int start, int end) {
+        PollTask first = tasks.get(0);
+        if (tasks.size() == 1) {
+            return first;
+        }
+        ModbusReadRequestBlueprint request = first.getRequest();
+        int maxTries = tasks.stream().mapToInt(PollTask::getMaxTries).max().orElse(1);
+        return new CoalescedPollTask(first.getEndpoint(), new BasicModbusReadRequestBlueprint(request.getUnitID(),
+                request.getFunctionCode(), start, end - start, maxTries, request.getProtocolID()), tasks);
+    }
+
+    private static int maxLength(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return MAX_BITS_PER_READ;
+            default:
+                return MAX_REGISTERS_PER_READ;
+        }
+    }
+}
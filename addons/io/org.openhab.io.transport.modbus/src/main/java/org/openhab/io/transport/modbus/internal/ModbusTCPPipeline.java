@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.wimpi.modbus.ModbusIOException;
+import net.wimpi.modbus.io.ModbusTransport;
+import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ModbusResponse;
+
+/**
+ * Executes several Modbus/TCP requests on one connection without waiting for each response before sending the next
+ * request
+ *
+ * Up to the configured number of requests are outstanding at any time. Responses are matched to the requests by
+ * transaction ID, so they may arrive in any order. Responses with an unknown transaction ID, e.g. late responses to
+ * requests of an earlier, timed out transaction, are discarded.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusTCPPipeline {
+
+    /**
+     * Transaction IDs of the pipelined requests. Each connection is used by one operation at a time, so it does not
+     * matter that the IDs might collide with the ones of the regular transactions
+     */
+    private static final AtomicInteger transactionIds = new AtomicInteger();
+
+    private ModbusTCPPipeline() {
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(ModbusTCPPipeline.class);
+    }
+
+    /**
+     * Execute the requests
+     *
+     * @param transport transport of the connection to use
+     * @param requests requests to execute. The transaction IDs of the requests are overwritten
+     * @param responses array of the same length as requests, receiving the response of each request. Slave exception
+     *            responses are returned as well
+     * @param maxOutstanding maximum number of requests waiting for their response
+     * @throws ModbusIOException on I/O errors. The connection should not be used any more, and responses received so
+     *             far are in <code>responses</code>
+     */
+    public static void execute(ModbusTransport transport, ModbusRequest[] requests,
+            @Nullable ModbusResponse[] responses, int maxOutstanding) throws ModbusIOException {
+        if (requests.length != responses.length) {
+            throw new IllegalArgumentException("requests and responses must have the same length");
+        }
+        if (maxOutstanding <= 0) {
+            throw new IllegalArgumentException("maxOutstanding should be positive");
+        }
+        Map<Integer, Integer> outstanding = new HashMap<>();
+        int next = 0;
+        int received = 0;
+        int discarded = 0;
+        while (received < requests.length) {
+            while (next < requests.length && outstanding.size() < maxOutstanding) {
+                ModbusRequest request = requests[next];
+                int transactionId = nextTransactionId();
+                request.setTransactionID(transactionId);
+                transport.writeMessage(request);
+                outstanding.put(transactionId, next);
+                next++;
+            }
+            ModbusResponse response = transport.readResponse();
+            Integer index = outstanding.remove(response.getTransactionID());
+            if (index == null) {
+                // more stale responses than could have been outstanding means the stream is out of sync
+                if (++discarded > maxOutstanding) {
+                    throw new ModbusIOException(String.format(
+                            "Received %d responses with unexpected transaction IDs, last %d", discarded,
+                            response.getTransactionID()));
+                }
+                getLogger().debug("Discarding response with unexpected transaction ID {}", response.getTransactionID());
+                continue;
+            }
+            responses[index] = response;
+            received++;
+        }
+    }
+
+    private static int nextTransactionId() {
+        // transaction IDs are 16 bit unsigned integers
+        return transactionIds.incrementAndGet() & 0xFFFF;
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.openhab.persistence.mapdb.internal.MapDbCommitStatistics;
+
+/**
+ * Tests the commit statistics of the MapDB persistence service.
+ *
+ * @author agent - Initial contribution
+ */
+public class MapDbCommitStatisticsTest {
+
+    @Test
+    public void statisticsShouldSumCommitsAndTrackLatency() {
+        MapDbCommitStatistics statistics = new MapDbCommitStatistics();
+        statistics.recordCommit(10, TimeUnit.MILLISECONDS.toNanos(2));
+        statistics.recordCommit(30, TimeUnit.MILLISECONDS.toNanos(6));
+        statistics.recordCoalescedWrite();
+
+        assertThat(statistics.getCommits(), is(2L));
+        assertThat(statistics.getCommittedItems(), is(40L));
+        assertThat(statistics.getCoalescedWrites(), is(1L));
+        assertThat(statistics.getAverageCommitMillis(), is(4.0));
+        assertThat(statistics.getMaxCommitMillis(), is(6.0));
+    }
+
+    @Test
+    public void averageShouldBeZeroWithoutCommits() {
+        assertThat(new MapDbCommitStatistics().getAverageCommitMillis(), is(0.0));
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.beans.HasPropertyWithValue.hasProperty;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.Assert.assertThat;
+
+import java.util.Date;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Operator;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mapdb.DB;
+import org.mapdb.DBMaker;
+import org.openhab.persistence.mapdb.internal.MapDbHistory;
+
+/**
+ * Tests the history mode store of the MapDB persistence service.
+ *
+ * @author agent - Initial contribution
+ */
+public class MapDbHistoryTest {
+    private static final String ALIAS = "temperature";
+
+    private DB db;
+    private MapDbHistory history;
+
+    @Before
+    public void setUp() {
+        db = DBMaker.newMemoryDB().make();
+        history = new MapDbHistory(db);
+        for (int i = 1; i <= 5; i++) {
+            history.store(ALIAS, new DecimalType(i), new Date(i * 1000L), 0);
+        }
+        history.store("other", new DecimalType(42), new Date(3000L), 0);
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void queryShouldReturnNewestFirstByDefault() {
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(ALIAS);
+
+        assertThat(history.query(ALIAS, filter), contains(state(5), state(4), state(3), state(2), state(1)));
+    }
+
+    @Test
+    public void queryShouldHonourDateRangeAndOrdering() {
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(ALIAS);
+        filter.setBeginDate(new Date(2000L));
+        filter.setEndDate(new Date(4000L));
+        filter.setOrdering(Ordering.ASCENDING);
+
+        assertThat(history.query(ALIAS, filter), contains(state(2), state(3), state(4)));
+    }
+
+    @Test
+    public void queryShouldHonourPaging() {
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(ALIAS);
+        filter.setOrdering(Ordering.ASCENDING);
+        filter.setPageSize(2);
+        filter.setPageNumber(1);
+
+        assertThat(history.query(ALIAS, filter), contains(state(3), state(4)));
+    }
+
+    @Test
+    public void queryShouldHonourStateFilter() {
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(ALIAS);
+        filter.setOrdering(Ordering.ASCENDING);
+        filter.setOperator(Operator.GT);
+        filter.setState(new DecimalType(3));
+
+        assertThat(history.query(ALIAS, filter), contains(state(4), state(5)));
+    }
+
+    @Test
+    public void storeShouldSkipStatesWithinMinimumInterval() {
+        history.store(ALIAS, new DecimalType(6), new Date(5500L), 1000);
+        history.store(ALIAS, new DecimalType(7), new Date(6000L), 1000);
+
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(ALIAS);
+        filter.setPageSize(2);
+
+        assertThat(history.query(ALIAS, filter), contains(state(7), state(5)));
+    }
+
+    @Test
+    public void newestStateShouldBeKeptWithinMinimumInterval() {
+        // restoreOnStartup asks for the newest state only
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(ALIAS);
+        filter.setOrdering(Ordering.DESCENDING);
+        filter.setPageSize(1);
+
+        history.store(ALIAS, new DecimalType(6), new Date(5500L), 1000);
+        assertThat(history.query(ALIAS, filter), contains(state(6)));
+
+        history.store(ALIAS, new DecimalType(7), new Date(5800L), 1000);
+        assertThat(history.query(ALIAS, filter), contains(state(7)));
+
+        filter.setPageSize(3);
+        assertThat(history.query(ALIAS, filter), contains(state(7), state(5), state(4)));
+    }
+
+    @Test
+    public void removeBeforeShouldOnlyRemoveExpiredStatesOfTheAlias() {
+        assertThat(history.removeBefore(ALIAS, new Date(3000L)), is(2));
+
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(ALIAS);
+        filter.setOrdering(Ordering.ASCENDING);
+
+        assertThat(history.query(ALIAS, filter), contains(state(3), state(4), state(5)));
+        assertThat(history.contains("other"), is(true));
+    }
+
+    private static org.hamcrest.Matcher<Object> state(int value) {
+        return hasProperty("state", equalTo(new DecimalType(value)));
+    }
+}
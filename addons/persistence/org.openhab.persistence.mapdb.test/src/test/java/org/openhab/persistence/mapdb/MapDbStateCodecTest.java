@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import org.eclipse.smarthome.core.library.types.DateTimeType;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.HSBType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.PointType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.library.types.UpDownType;
+import org.eclipse.smarthome.core.types.State;
+import org.junit.Test;
+import org.openhab.persistence.mapdb.internal.MapDbItem;
+import org.openhab.persistence.mapdb.internal.MapDbStateCodec;
+
+/**
+ * Tests the binary state encoding of the MapDB persistence service.
+ *
+ * @author agent - Initial contribution
+ */
+public class MapDbStateCodecTest {
+
+    @Test
+    public void encodeDecodeRoundtripShouldRecreateTheEncodedState() {
+        assertThat(roundtrip(OnOffType.ON), is(equalTo(OnOffType.ON)));
+        assertThat(roundtrip(OnOffType.OFF), is(equalTo(OnOffType.OFF)));
+        assertThat(roundtrip(OpenClosedType.CLOSED), is(equalTo(OpenClosedType.CLOSED)));
+        assertThat(roundtrip(UpDownType.UP), is(equalTo(UpDownType.UP)));
+        assertThat(roundtrip(PercentType.HUNDRED), is(equalTo(PercentType.HUNDRED)));
+        assertThat(roundtrip(HSBType.GREEN), is(equalTo(HSBType.GREEN)));
+        assertThat(roundtrip(StringType.valueOf("test")), is(equalTo(StringType.valueOf("test"))));
+        assertThat(roundtrip(new DecimalType("-21.75")), is(equalTo(new DecimalType("-21.75"))));
+        assertThat(roundtrip(new DecimalType(new BigDecimal("123456789012345678901234567890.5"))),
+                is(equalTo(new DecimalType(new BigDecimal("123456789012345678901234567890.5")))));
+        assertThat(roundtrip(new PointType("52.5,13.4")), is(equalTo(new PointType("52.5,13.4"))));
+    }
+
+    @Test
+    public void decodedStatesShouldKeepTheirType() {
+        assertThat(roundtrip(PercentType.ZERO), is(instanceOf(PercentType.class)));
+        assertThat(roundtrip(new DecimalType(5)), is(instanceOf(DecimalType.class)));
+        assertThat(roundtrip(new DateTimeType()), is(instanceOf(DateTimeType.class)));
+    }
+
+    @Test
+    public void commonStatesShouldBeEncodedCompactly() {
+        assertThat(MapDbStateCodec.encode(OnOffType.ON).length, is(2));
+        assertThat(MapDbStateCodec.encode(new DecimalType("21.5")).length, is(4));
+    }
+
+    @Test
+    public void decodingInvalidDataShouldReturnNull() {
+        assertThat(MapDbStateCodec.decode(new byte[] { 99 }), is(nullValue()));
+        assertThat(MapDbStateCodec.decode(new byte[0]), is(nullValue()));
+    }
+
+    @Test
+    public void encodeDecodeItemRoundtripShouldRecreateTimestampAndState() {
+        MapDbItem item = new MapDbItem();
+        item.setName("temperature");
+        item.setState(new DecimalType("21.5"));
+        item.setTimestamp(new Date(1546300800123L));
+
+        MapDbItem decoded = MapDbStateCodec.decodeItem("temperature", MapDbStateCodec.encodeItem(item));
+
+        assertThat(decoded, is(notNullValue()));
+        assertThat(decoded.getName(), is("temperature"));
+        assertThat(decoded.getState(), is(equalTo(new DecimalType("21.5"))));
+        assertThat(decoded.getTimestamp(), is(new Date(1546300800123L)));
+    }
+
+    private State roundtrip(State state) {
+        return MapDbStateCodec.decode(MapDbStateCodec.encode(state));
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.Date;
+import java.util.Map;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.types.State;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mapdb.BTreeKeySerializer;
+import org.mapdb.DB;
+import org.mapdb.DBMaker;
+import org.mapdb.Serializer;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Tests the conversion of the items stored as JSON by earlier versions of the MapDB persistence service.
+ *
+ * @author agent - Initial contribution
+ */
+public class MapDbJsonMigrationTest {
+    private static final String JSON_ITEM_STORE_NAME = "itemStore";
+
+    private final Gson mapper = new GsonBuilder()
+            .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter())
+            .create();
+
+    private DB db;
+    private Map<String, String> jsonMap;
+    private Map<String, byte[]> map;
+
+    @Before
+    public void setUp() {
+        db = DBMaker.newMemoryDB().make();
+        jsonMap = db.createTreeMap(JSON_ITEM_STORE_NAME).makeOrGet();
+        map = db.createTreeMap("itemStoreBinary").keySerializer(BTreeKeySerializer.STRING)
+                .valueSerializer(Serializer.BYTE_ARRAY).makeOrGet();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void migrationShouldConvertTheStatesAndRemoveTheJsonStore() {
+        storeJson("switch", OnOffType.ON, 1000L);
+        storeJson("temperature", new DecimalType("21.5"), 2000L);
+        storeJson("text", new StringType("hello"), 3000L);
+
+        assertThat(new MapDbPersistenceService().migrateJsonItemStore(db, map), is(3));
+
+        assertThat(decode("switch").getState(), is(equalTo(OnOffType.ON)));
+        assertThat(decode("temperature").getState(), is(equalTo(new DecimalType("21.5"))));
+        assertThat(decode("text").getState(), is(equalTo(new StringType("hello"))));
+        assertThat(decode("text").getTimestamp(), is(equalTo(new Date(3000L))));
+        assertThat(db.exists(JSON_ITEM_STORE_NAME), is(false));
+    }
+
+    @Test
+    public void migrationShouldKeepTheJsonStoreIfAnItemFails() {
+        storeJson("switch", OnOffType.ON, 1000L);
+        jsonMap.put("broken", "{\"name\":\"broken\",\"state\":");
+
+        assertThat(new MapDbPersistenceService().migrateJsonItemStore(db, map), is(1));
+
+        assertThat(decode("switch").getState(), is(equalTo(OnOffType.ON)));
+        assertThat(map.containsKey("broken"), is(false));
+        assertThat(db.exists(JSON_ITEM_STORE_NAME), is(true));
+        assertThat(jsonMap.get("broken"), is(notNullValue()));
+    }
+
+    @Test
+    public void migrationShouldNotOverwriteStatesStoredInTheBinaryFormat() {
+        storeJson("switch", OnOffType.OFF, 1000L);
+        MapDbItem item = item("switch", OnOffType.ON, 2000L);
+        map.put("switch", MapDbStateCodec.encodeItem(item));
+
+        assertThat(new MapDbPersistenceService().migrateJsonItemStore(db, map), is(0));
+
+        assertThat(decode("switch").getState(), is(equalTo(OnOffType.ON)));
+        assertThat(db.exists(JSON_ITEM_STORE_NAME), is(false));
+    }
+
+    private void storeJson(String name, State state, long timestamp) {
+        jsonMap.put(name, mapper.toJson(item(name, state, timestamp)));
+    }
+
+    private MapDbItem decode(String name) {
+        return MapDbStateCodec.decodeItem(name, map.get(name));
+    }
+
+    private static MapDbItem item(String name, State state, long timestamp) {
+        MapDbItem item = new MapDbItem();
+        item.setName(name);
+        item.setState(state);
+        item.setTimestamp(new Date(timestamp));
+        return item;
+    }
+}
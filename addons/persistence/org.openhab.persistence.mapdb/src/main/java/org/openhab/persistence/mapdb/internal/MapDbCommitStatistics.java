@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Counts the commits of the MapDB persistence service and measures their latency.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbCommitStatistics {
+
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder committedItems = new LongAdder();
+    private final LongAdder coalescedWrites = new LongAdder();
+    private final LongAdder totalCommitNanos = new LongAdder();
+    private final AtomicLong maxCommitNanos = new AtomicLong();
+
+    /**
+     * Records a commit.
+     *
+     * @param items the number of items written by the commit
+     * @param nanos the duration of the commit in nanoseconds
+     */
+    public void recordCommit(int items, long nanos) {
+        commits.increment();
+        committedItems.add(items);
+        totalCommitNanos.add(nanos);
+        maxCommitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Records a write which replaced a not yet committed write of the same item.
+     */
+    public void recordCoalescedWrite() {
+        coalescedWrites.increment();
+    }
+
+    public long getCommits() {
+        return commits.sum();
+    }
+
+    public long getCommittedItems() {
+        return committedItems.sum();
+    }
+
+    public long getCoalescedWrites() {
+        return coalescedWrites.sum();
+    }
+
+    public double getAverageCommitMillis() {
+        long count = commits.sum();
+        return count == 0 ? 0 : (double) totalCommitNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMaxCommitMillis() {
+        return (double) maxCommitNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d commits of %d items, %d coalesced writes, avg %.3f ms, max %.3f ms", getCommits(),
+                getCommittedItems(), getCoalescedWrites(), getAverageCommitMillis(), getMaxCommitMillis());
+    }
+}
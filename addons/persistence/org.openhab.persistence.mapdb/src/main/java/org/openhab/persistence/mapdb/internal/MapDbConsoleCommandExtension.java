@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.smarthome.core.persistence.QueryablePersistenceService;
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.framework.Constants;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link MapDbConsoleCommandExtension} prints the commit statistics of the MapDB persistence service.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = ConsoleCommandExtension.class)
+public class MapDbConsoleCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String SUBCMD_STATS = "stats";
+
+    private MapDbPersistenceService persistenceService;
+
+    public MapDbConsoleCommandExtension() {
+        super("mapdb", "MapDB persistence commands.");
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length > 0 && SUBCMD_STATS.equals(args[0])) {
+            MapDbCommitStatistics statistics = persistenceService.getCommitStatistics();
+            console.println(String.format("Commits: %d", statistics.getCommits()));
+            console.println(String.format("Committed items: %d", statistics.getCommittedItems()));
+            console.println(String.format("Coalesced writes: %d", statistics.getCoalescedWrites()));
+            console.println(String.format("Pending items: %d", persistenceService.getPendingItemCount()));
+            console.println(String.format("Commit latency: avg %.3f ms, max %.3f ms",
+                    statistics.getAverageCommitMillis(), statistics.getMaxCommitMillis()));
+        } else {
+            printUsage(console);
+        }
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Arrays.asList(new String[] { buildCommandUsage(SUBCMD_STATS, "show the commit statistics") });
+    }
+
+    @Reference(target = "(" + Constants.SERVICE_PID + "=org.openhab.mapdb)")
+    protected void setPersistenceService(QueryablePersistenceService persistenceService) {
+        this.persistenceService = (MapDbPersistenceService) persistenceService;
+    }
+
+    protected void unsetPersistenceService(QueryablePersistenceService persistenceService) {
+        this.persistenceService = null;
+    }
+}
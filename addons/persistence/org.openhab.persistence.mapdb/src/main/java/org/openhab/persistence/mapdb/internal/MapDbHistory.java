@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Operator;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
+import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.eclipse.smarthome.core.types.State;
+import org.mapdb.BTreeKeySerializer;
+import org.mapdb.DB;
+import org.mapdb.Fun;
+import org.mapdb.Serializer;
+
+/**
+ * The time series of item states stored when the history mode is enabled.
+ *
+ * States are kept in a MapDB BTree, keyed by (alias, timestamp) and encoded by the {@link MapDbStateCodec}. All
+ * entries of one alias are adjacent in the tree, so queries and the removal of expired entries are range scans.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbHistory {
+
+    private static final String HISTORY_STORE_NAME = "historyStore";
+
+    private final NavigableMap<Fun.Tuple2<String, Long>, byte[]> store;
+
+    public MapDbHistory(DB db) {
+        store = db.createTreeMap(HISTORY_STORE_NAME).keySerializer(BTreeKeySerializer.TUPLE2)
+                .valueSerializer(Serializer.BYTE_ARRAY).makeOrGet();
+    }
+
+    /**
+     * Adds a state to the history of an alias.
+     *
+     * The newest entry of an alias is always its last stored state. If it arrived within the minimum interval after
+     * the entry before it, it is replaced by the new state instead of being kept, so that the older entries are at
+     * least the minimum interval apart.
+     *
+     * @param alias the alias the state is stored for
+     * @param state the state
+     * @param timestamp the time of the state
+     * @param minIntervalMillis the minimum time between two entries of the alias
+     * @return <code>true</code> if the state was added, <code>false</code> if it replaced the newest entry
+     */
+    public boolean store(String alias, State state, Date timestamp, long minIntervalMillis) {
+        boolean added = true;
+        if (minIntervalMillis > 0) {
+            Fun.Tuple2<String, Long> latest = store.floorKey(Fun.t2(alias, Long.MAX_VALUE));
+            if (latest != null && alias.equals(latest.a)) {
+                Fun.Tuple2<String, Long> previous = store.lowerKey(latest);
+                if (previous != null && alias.equals(previous.a) && latest.b - previous.b < minIntervalMillis) {
+                    store.remove(latest);
+                    added = false;
+                }
+            }
+        }
+        store.put(Fun.t2(alias, timestamp.getTime()), MapDbStateCodec.encode(state));
+        return added;
+    }
+
+    /**
+     * Checks whether any state has been added for an alias.
+     *
+     * @param alias the alias
+     * @return <code>true</code> if the history of the alias is not empty
+     */
+    public boolean contains(String alias) {
+        return !range(alias, Long.MIN_VALUE, Long.MAX_VALUE).isEmpty();
+    }
+
+    /**
+     * Returns the stored states of an alias matching the given filter.
+     *
+     * The filter's begin and end dates select the range of the scan, then the state filter, ordering and paging are
+     * applied.
+     *
+     * @param alias the alias to query
+     * @param filter the filter
+     * @return the matching states
+     */
+    public List<HistoricItem> query(String alias, FilterCriteria filter) {
+        long begin = filter.getBeginDate() != null ? filter.getBeginDate().getTime() : Long.MIN_VALUE;
+        long end = filter.getEndDate() != null ? filter.getEndDate().getTime() : Long.MAX_VALUE;
+        if (begin > end) {
+            return new ArrayList<>();
+        }
+
+        NavigableMap<Fun.Tuple2<String, Long>, byte[]> range = range(alias, begin, end);
+        if (filter.getOrdering() == Ordering.DESCENDING) {
+            range = range.descendingMap();
+        }
+
+        long toSkip = (long) filter.getPageNumber() * filter.getPageSize();
+        int pageSize = filter.getPageSize();
+        List<HistoricItem> result = new ArrayList<>();
+        for (Map.Entry<Fun.Tuple2<String, Long>, byte[]> entry : range.entrySet()) {
+            if (result.size() >= pageSize) {
+                break;
+            }
+            State state = MapDbStateCodec.decode(entry.getValue());
+            if (state == null || !matches(state, filter)) {
+                continue;
+            }
+            if (toSkip > 0) {
+                toSkip--;
+                continue;
+            }
+            MapDbItem item = new MapDbItem();
+            item.setName(alias);
+            item.setState(state);
+            item.setTimestamp(new Date(entry.getKey().b));
+            result.add(item);
+        }
+        return result;
+    }
+
+    /**
+     * Removes all states of an alias older than the given time.
+     *
+     * @param alias the alias
+     * @param before the time before which states are removed
+     * @return the number of removed states
+     */
+    public int removeBefore(String alias, Date before) {
+        long time = before.getTime();
+        if (time == Long.MIN_VALUE) {
+            return 0;
+        }
+        NavigableMap<Fun.Tuple2<String, Long>, byte[]> expired = range(alias, Long.MIN_VALUE, time - 1);
+        int count = expired.size();
+        expired.clear();
+        return count;
+    }
+
+    private NavigableMap<Fun.Tuple2<String, Long>, byte[]> range(String alias, long begin, long end) {
+        return store.subMap(Fun.t2(alias, begin), true, Fun.t2(alias, end), true);
+    }
+
+    private static boolean matches(State state, FilterCriteria filter) {
+        State expected = filter.getState();
+        Operator operator = filter.getOperator();
+        if (expected == null || operator == null) {
+            return true;
+        }
+        switch (operator) {
+            case EQ:
+                return state.equals(expected);
+            case NEQ:
+                return !state.equals(expected);
+            default:
+                BigDecimal value = toBigDecimal(state);
+                BigDecimal expectedValue = toBigDecimal(expected);
+                if (value == null || expectedValue == null) {
+                    return false;
+                }
+                int comparison = value.compareTo(expectedValue);
+                switch (operator) {
+                    case GT:
+                        return comparison > 0;
+                    case GTE:
+                        return comparison >= 0;
+                    case LT:
+                        return comparison < 0;
+                    case LTE:
+                        return comparison <= 0;
+                    default:
+                        return false;
+                }
+        }
+    }
+
+    private static @Nullable BigDecimal toBigDecimal(State state) {
+        if (state instanceof DecimalType) {
+            return ((DecimalType) state).toBigDecimal();
+        }
+        return null;
+    }
+}
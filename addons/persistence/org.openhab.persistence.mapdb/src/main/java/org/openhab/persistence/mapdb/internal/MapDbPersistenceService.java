@@ -15,11 +15,16 @@ package org.openhab.persistence.mapdb.internal;
 import java.io.File;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -35,9 +40,15 @@ import org.eclipse.smarthome.core.persistence.PersistenceService;
 import org.eclipse.smarthome.core.persistence.QueryablePersistenceService;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
+import org.mapdb.BTreeKeySerializer;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
+import org.mapdb.Serializer;
+import org.osgi.framework.Constants;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,38 +60,84 @@ import com.google.gson.GsonBuilder;
  * more about MapDB please visit their <a
  * href="http://www.mapdb.org/">website</a>.
  *
+ * The last state of every item is stored in a compact binary form encoded by the {@link MapDbStateCodec}. Databases
+ * written by earlier versions, which stored the items as JSON, are migrated when the service is activated.
+ *
+ * By default only the last state of every item is stored. If the history mode is enabled, all states are kept in a
+ * {@link MapDbHistory} in addition, optionally thinned out to a minimum interval and removed after a retention time.
+ *
+ * Every store is committed to disk separately, unless a commit interval is configured. Stores are then collected and
+ * committed together once the interval has passed or the batch size is reached, and repeated stores of the same item
+ * within the interval only write its last state.
+ *
  * @author Jens Viebig - Initial contribution
  * @author Martin Kühl - Port to Eclipse SmartHome
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class, QueryablePersistenceService.class })
+@Component(service = { PersistenceService.class,
+        QueryablePersistenceService.class }, configurationPid = "org.openhab.mapdb", property = Constants.SERVICE_PID
+                + "=org.openhab.mapdb")
 public class MapDbPersistenceService implements QueryablePersistenceService {
 
     private static final String SERVICE_NAME = "mapdb";
 
+    private static final String CONFIG_HISTORY = "history";
+    private static final String CONFIG_HISTORY_RETENTION_DAYS = "historyRetentionDays";
+    private static final String CONFIG_HISTORY_MIN_INTERVAL = "historyMinInterval";
+
+    private static final String CONFIG_COMMIT_INTERVAL = "commitInterval";
+    private static final String CONFIG_COMMIT_BATCH_SIZE = "commitBatchSize";
+
+    private static final int DEFAULT_COMMIT_BATCH_SIZE = 1000;
+
+    /** the interval in which expired history entries are removed */
+    private static final long HISTORY_CLEANUP_INTERVAL_HOURS = 1;
+
     private static final String DB_FOLDER_NAME = ConfigConstants.getUserDataFolder() + File.separator + "persistence" + File.separator + "mapdb";
 
     private static final String DB_FILE_NAME = "storage.mapdb";
 
+    private static final String ITEM_STORE_NAME = "itemStoreBinary";
+
+    /** the name of the item store of earlier versions, which contains the items as JSON */
+    private static final String JSON_ITEM_STORE_NAME = "itemStore";
+
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
     @NonNullByDefault({})
     private ExecutorService threadPool;
+    @NonNullByDefault({})
+    private ScheduledExecutorService scheduler;
 
     /** holds the local instance of the MapDB database */
     @NonNullByDefault({})
     private DB db;
     @NonNullByDefault({})
-    private Map<String, String> map;
+    private Map<String, byte[]> map;
+
+    private @Nullable MapDbHistory history;
+    private long historyRetentionMillis;
+    private long historyMinIntervalMillis;
+    private @Nullable ScheduledFuture<?> historyCleanupJob;
+
+    /** the items stored since the last commit when a commit interval is configured, guarded by itself */
+    private final Map<String, byte[]> pendingItems = new LinkedHashMap<>();
+    private @Nullable ScheduledFuture<?> commitJob;
+    private volatile long commitIntervalMillis;
+    private volatile int commitBatchSize = DEFAULT_COMMIT_BATCH_SIZE;
+    private final MapDbCommitStatistics commitStatistics = new MapDbCommitStatistics();
 
+    /** reads the items stored as JSON by earlier versions */
     private transient Gson mapper = new GsonBuilder()
             .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter())
             .create();
 
-    public void activate() {
+    @Activate
+    public void activate(Map<String, Object> config) {
         logger.debug("MapDB persistence service is being activated");
 
         threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+        scheduler = ThreadPoolManager.getScheduledPool(getClass().getSimpleName());
 
         File folder = new File(DB_FOLDER_NAME);
         if (!folder.exists()) {
@@ -93,18 +150,131 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
         File dbFile = new File(DB_FOLDER_NAME, DB_FILE_NAME);
         db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-        map = db.createTreeMap("itemStore").makeOrGet();
+        map = db.createTreeMap(ITEM_STORE_NAME).keySerializer(BTreeKeySerializer.STRING)
+                .valueSerializer(Serializer.BYTE_ARRAY).makeOrGet();
+        migrateJsonItemStore(db, map);
+        modified(config);
         logger.debug("MapDB persistence service is now activated");
     }
 
-    public void deactivate() {
+    @Modified
+    public synchronized void modified(Map<String, Object> config) {
+        if (db == null) {
+            return;
+        }
+        stopHistoryCleanup();
+
+        commitIntervalMillis = getLongConfig(config, CONFIG_COMMIT_INTERVAL);
+        long batchSize = getLongConfig(config, CONFIG_COMMIT_BATCH_SIZE);
+        commitBatchSize = batchSize > 0 ? (int) Math.min(batchSize, Integer.MAX_VALUE) : DEFAULT_COMMIT_BATCH_SIZE;
+        if (commitIntervalMillis <= 0) {
+            commitPendingItems();
+        }
+
+        historyRetentionMillis = TimeUnit.DAYS.toMillis(getLongConfig(config, CONFIG_HISTORY_RETENTION_DAYS));
+        historyMinIntervalMillis = TimeUnit.SECONDS.toMillis(getLongConfig(config, CONFIG_HISTORY_MIN_INTERVAL));
+        if (Boolean.parseBoolean(String.valueOf(config.get(CONFIG_HISTORY)))) {
+            history = new MapDbHistory(db);
+            if (historyRetentionMillis > 0) {
+                historyCleanupJob = scheduler.scheduleWithFixedDelay(this::removeExpiredHistory, 0,
+                        HISTORY_CLEANUP_INTERVAL_HOURS, TimeUnit.HOURS);
+            }
+            logger.debug("MapDB history mode enabled, retention {} ms, minimum interval {} ms",
+                    historyRetentionMillis, historyMinIntervalMillis);
+        } else {
+            history = null;
+        }
+    }
+
+    @Deactivate
+    public synchronized void deactivate() {
         logger.debug("MapDB persistence service deactivated");
+        stopHistoryCleanup();
+        history = null;
         if (db != null) {
+            commitPendingItems();
             db.close();
         }
         threadPool.shutdown();
     }
 
+    /**
+     * Converts the items stored as JSON by earlier versions to the binary format. The JSON item store is only removed
+     * if all of its items could be converted, otherwise it is kept and the remaining items are tried again on the
+     * next activation.
+     *
+     * @param db the database
+     * @param map the binary item store
+     * @return the number of converted items
+     */
+    int migrateJsonItemStore(DB db, Map<String, byte[]> map) {
+        if (!db.exists(JSON_ITEM_STORE_NAME)) {
+            return 0;
+        }
+        Map<String, String> jsonMap = db.getTreeMap(JSON_ITEM_STORE_NAME);
+        int migrated = 0;
+        int failed = 0;
+        for (Map.Entry<String, String> entry : jsonMap.entrySet()) {
+            if (map.containsKey(entry.getKey())) {
+                // converted before, or stored again since then
+                continue;
+            }
+            Optional<MapDbItem> item = deserializeJson(entry.getKey(), entry.getValue());
+            if (item.isPresent()) {
+                map.put(entry.getKey(), MapDbStateCodec.encodeItem(item.get()));
+                migrated++;
+            } else {
+                failed++;
+            }
+        }
+        if (failed == 0) {
+            db.delete(JSON_ITEM_STORE_NAME);
+            logger.info("Migrated {} items of the MapDB persistence service to the binary format", migrated);
+        } else {
+            logger.warn("Migrated {} items of the MapDB persistence service to the binary format, "
+                    + "{} items could not be converted and are kept in the JSON item store", migrated, failed);
+        }
+        db.commit();
+        return migrated;
+    }
+
+    private long getLongConfig(Map<String, Object> config, String key) {
+        Object value = config.get(key);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring invalid value '{}' for '{}'", value, key);
+            return 0;
+        }
+    }
+
+    private void stopHistoryCleanup() {
+        ScheduledFuture<?> job = historyCleanupJob;
+        if (job != null) {
+            job.cancel(false);
+            historyCleanupJob = null;
+        }
+    }
+
+    private void removeExpiredHistory() {
+        MapDbHistory history = this.history;
+        if (history == null) {
+            return;
+        }
+        Date before = new Date(System.currentTimeMillis() - historyRetentionMillis);
+        int removed = 0;
+        for (String alias : map.keySet()) {
+            removed += history.removeBefore(alias, before);
+        }
+        if (removed > 0) {
+            logger.debug("Removed {} history entries older than {}", removed, before);
+            commit();
+        }
+    }
+
     @Override
     public String getId() {
         return SERVICE_NAME;
@@ -115,10 +285,34 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         return SERVICE_NAME;
     }
 
+    /**
+     * Returns the commit statistics of this service.
+     *
+     * @return the commit statistics
+     */
+    public MapDbCommitStatistics getCommitStatistics() {
+        return commitStatistics;
+    }
+
+    /**
+     * Returns the number of stored items waiting for the next commit.
+     *
+     * @return the number of pending items
+     */
+    public int getPendingItemCount() {
+        synchronized (pendingItems) {
+            return pendingItems.size();
+        }
+    }
+
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return map.values().stream()
-                .map(this::deserialize)
+        Map<String, byte[]> items = new HashMap<>(map);
+        synchronized (pendingItems) {
+            items.putAll(pendingItems);
+        }
+        return items.entrySet().stream()
+                .map(entry -> deserialize(entry.getKey(), entry.getValue()))
                 .flatMap(MapDbPersistenceService::streamOptional)
                 .collect(Collectors.<PersistenceItemInfo>toSet());
     }
@@ -145,40 +339,112 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setName(alias);
         mItem.setState(state);
         mItem.setTimestamp(new Date());
-        String json = serialize(mItem);
-        map.put(alias, json);
-        commit();
+        byte[] data = MapDbStateCodec.encodeItem(mItem);
+        MapDbHistory history = this.history;
+        if (history != null) {
+            history.store(alias, state, mItem.getTimestamp(), historyMinIntervalMillis);
+        }
+        if (commitIntervalMillis > 0) {
+            addPendingItem(alias, data);
+        } else {
+            map.put(alias, data);
+            commit();
+        }
         logger.debug("Stored '{}' with state '{}' in MapDB database", alias, state.toString());
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
+        MapDbHistory history = this.history;
+        String itemName = filter.getItemName();
+        if (history != null && itemName != null && history.contains(itemName)) {
+            return history.query(itemName, filter);
+        }
+
+        if (itemName == null) {
             return Collections.emptyList();
         }
-        Optional<MapDbItem> item = deserialize(json);
+        byte[] data;
+        synchronized (pendingItems) {
+            data = pendingItems.get(itemName);
+        }
+        if (data == null) {
+            data = map.get(itemName);
+        }
+        if (data == null) {
+            return Collections.emptyList();
+        }
+        Optional<MapDbItem> item = deserialize(itemName, data);
         if (!item.isPresent()) {
             return Collections.emptyList();
         }
         return Collections.singletonList(item.get());
     }
 
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
+    private Optional<MapDbItem> deserialize(String name, byte[] data) {
+        return Optional.ofNullable(MapDbStateCodec.decodeItem(name, data));
     }
 
-    private Optional<MapDbItem> deserialize(String json) {
-        MapDbItem item = mapper.<MapDbItem>fromJson(json, MapDbItem.class);
+    private Optional<MapDbItem> deserializeJson(String name, String json) {
+        MapDbItem item;
+        try {
+            item = mapper.<MapDbItem>fromJson(json, MapDbItem.class);
+        } catch (RuntimeException e) {
+            // besides JsonParseException, the StateTypeAdapter fails on malformed states
+            logger.warn("Couldn't deserialize item '{}': {}", name, e.getMessage());
+            return Optional.empty();
+        }
         if (item == null || !item.isValid()) {
-            logger.warn("Deserialized invalid item: {}", item);
+            logger.warn("Deserialized invalid item '{}': {}", name, item);
             return Optional.empty();
         }
         return Optional.of(item);
     }
 
     private void commit() {
-        threadPool.submit(() -> db.commit());
+        threadPool.submit(() -> commitDatabase(1));
+    }
+
+    private void addPendingItem(String alias, byte[] data) {
+        boolean batchComplete;
+        synchronized (pendingItems) {
+            if (pendingItems.put(alias, data) != null) {
+                commitStatistics.recordCoalescedWrite();
+            }
+            batchComplete = pendingItems.size() >= commitBatchSize;
+            if (!batchComplete && commitJob == null) {
+                commitJob = scheduler.schedule(this::commitPendingItems, commitIntervalMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (batchComplete) {
+            threadPool.submit(this::commitPendingItems);
+        }
+    }
+
+    private void commitPendingItems() {
+        int count;
+        synchronized (pendingItems) {
+            ScheduledFuture<?> job = commitJob;
+            if (job != null) {
+                job.cancel(false);
+                commitJob = null;
+            }
+            if (pendingItems.isEmpty()) {
+                return;
+            }
+            // move the items while holding the lock, so that queries always find either the pending or the stored
+            // state
+            map.putAll(pendingItems);
+            count = pendingItems.size();
+            pendingItems.clear();
+        }
+        commitDatabase(count);
+    }
+
+    private void commitDatabase(int items) {
+        long start = System.nanoTime();
+        db.commit();
+        commitStatistics.recordCommit(items, System.nanoTime() - start);
     }
 
     private static <T> Stream<T> streamOptional(Optional<T> opt) {
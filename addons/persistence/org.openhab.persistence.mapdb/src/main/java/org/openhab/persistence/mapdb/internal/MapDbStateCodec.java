@@ -0,0 +1,302 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.HSBType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.library.types.UpDownType;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.core.types.TypeParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A compact binary encoding of Eclipse SmartHome {@link State}s.
+ *
+ * Every encoded state starts with a one byte type tag. The most common state types are followed by their primitive
+ * values, all other types by their class name and full string representation, which is parsed by the
+ * {@link TypeParser} when decoding, as the {@link StateTypeAdapter} does for JSON.
+ *
+ * {@link MapDbItem}s are encoded as their timestamp followed by their state; the name is not included because it is
+ * the key the item is stored under.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbStateCodec {
+
+    private static final byte TAG_GENERIC = 0;
+    private static final byte TAG_ON_OFF = 1;
+    private static final byte TAG_OPEN_CLOSED = 2;
+    private static final byte TAG_UP_DOWN = 3;
+    private static final byte TAG_DECIMAL = 4;
+    private static final byte TAG_PERCENT = 5;
+    private static final byte TAG_HSB = 6;
+    private static final byte TAG_STRING = 7;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MapDbStateCodec.class);
+
+    private MapDbStateCodec() {
+        // static utility class
+    }
+
+    /**
+     * Encodes a state.
+     *
+     * @param state the state to encode
+     * @return the encoded state
+     */
+    public static byte[] encode(State state) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            encode(state, out);
+        } catch (IOException e) {
+            // cannot happen when writing to a byte array
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encodes a state to a stream.
+     *
+     * @param state the state to encode
+     * @param out the stream to write to
+     * @throws IOException if writing to the stream fails
+     */
+    public static void encode(State state, DataOutputStream out) throws IOException {
+        // check subclasses first: HSBType extends PercentType, which extends DecimalType
+        if (state instanceof HSBType) {
+            HSBType hsb = (HSBType) state;
+            out.writeByte(TAG_HSB);
+            writeDecimal(out, hsb.getHue().toBigDecimal());
+            writeDecimal(out, hsb.getSaturation().toBigDecimal());
+            writeDecimal(out, hsb.getBrightness().toBigDecimal());
+        } else if (state.getClass() == PercentType.class) {
+            out.writeByte(TAG_PERCENT);
+            writeDecimal(out, ((PercentType) state).toBigDecimal());
+        } else if (state.getClass() == DecimalType.class) {
+            out.writeByte(TAG_DECIMAL);
+            writeDecimal(out, ((DecimalType) state).toBigDecimal());
+        } else if (state instanceof OnOffType) {
+            out.writeByte(TAG_ON_OFF);
+            out.writeBoolean(state == OnOffType.ON);
+        } else if (state instanceof OpenClosedType) {
+            out.writeByte(TAG_OPEN_CLOSED);
+            out.writeBoolean(state == OpenClosedType.OPEN);
+        } else if (state instanceof UpDownType) {
+            out.writeByte(TAG_UP_DOWN);
+            out.writeBoolean(state == UpDownType.UP);
+        } else if (state.getClass() == StringType.class) {
+            out.writeByte(TAG_STRING);
+            writeString(out, state.toFullString());
+        } else {
+            out.writeByte(TAG_GENERIC);
+            writeString(out, state.getClass().getName());
+            writeString(out, state.toFullString());
+        }
+    }
+
+    /**
+     * Encodes the timestamp and state of an item.
+     *
+     * @param item the item to encode
+     * @return the encoded item
+     */
+    public static byte[] encodeItem(MapDbItem item) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(24);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeVarLong(out, item.getTimestamp().getTime());
+            encode(item.getState(), out);
+        } catch (IOException e) {
+            // cannot happen when writing to a byte array
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes an item encoded by {@link #encodeItem(MapDbItem)}.
+     *
+     * @param name the name the item is stored under
+     * @param data the encoded item
+     * @return the decoded item or <code>null</code> if it cannot be decoded
+     */
+    public static @Nullable MapDbItem decodeItem(String name, byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            Date timestamp = new Date(readVarLong(in));
+            State state = decode(in);
+            if (state == null) {
+                return null;
+            }
+            MapDbItem item = new MapDbItem();
+            item.setName(name);
+            item.setState(state);
+            item.setTimestamp(timestamp);
+            return item;
+        } catch (IOException e) {
+            LOGGER.warn("Couldn't decode item '{}': {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Decodes a state encoded by {@link #encode(State)}.
+     *
+     * @param data the encoded state
+     * @return the decoded state or <code>null</code> if it cannot be decoded
+     */
+    public static @Nullable State decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            return decode(in);
+        } catch (IOException e) {
+            LOGGER.warn("Couldn't decode state: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Decodes a state encoded by {@link #encode(State, DataOutputStream)} from a stream.
+     *
+     * @param in the stream to read from
+     * @return the decoded state or <code>null</code> if it cannot be decoded
+     * @throws IOException if reading from the stream fails
+     */
+    public static @Nullable State decode(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case TAG_ON_OFF:
+                return in.readBoolean() ? OnOffType.ON : OnOffType.OFF;
+            case TAG_OPEN_CLOSED:
+                return in.readBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+            case TAG_UP_DOWN:
+                return in.readBoolean() ? UpDownType.UP : UpDownType.DOWN;
+            case TAG_DECIMAL:
+                return new DecimalType(readDecimal(in));
+            case TAG_PERCENT:
+                return new PercentType(readDecimal(in));
+            case TAG_HSB:
+                return new HSBType(new DecimalType(readDecimal(in)), new PercentType(readDecimal(in)),
+                        new PercentType(readDecimal(in)));
+            case TAG_STRING:
+                return new StringType(readString(in));
+            case TAG_GENERIC:
+                return parseState(readString(in), readString(in));
+            default:
+                LOGGER.warn("Couldn't decode state with unknown type tag {}", tag);
+                return null;
+        }
+    }
+
+    private static @Nullable State parseState(String typeName, String value) {
+        try {
+            @SuppressWarnings("unchecked")
+            Class<? extends State> type = (Class<? extends State>) Class.forName(typeName);
+            List<Class<? extends State>> types = Collections.singletonList(type);
+            return TypeParser.parseState(types, value);
+        } catch (Exception e) {
+            LOGGER.warn("Couldn't decode state '{}' of type '{}': {}", value, typeName, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the scale and a flag whether the unscaled value fits into a long as one variable length integer,
+     * followed by the unscaled value.
+     */
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        BigInteger unscaled = value.unscaledValue();
+        if (unscaled.bitLength() < 64) {
+            writeVarLong(out, (long) value.scale() << 1);
+            writeVarLong(out, unscaled.longValue());
+        } else {
+            byte[] bytes = unscaled.toByteArray();
+            writeVarLong(out, ((long) value.scale() << 1) | 1);
+            writeVarInt(out, bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        long header = readVarLong(in);
+        int scale = (int) (header >> 1);
+        if ((header & 1) == 0) {
+            return BigDecimal.valueOf(readVarLong(in), scale);
+        }
+        byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        return new BigDecimal(new BigInteger(bytes), scale);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    /**
+     * Writes a zig-zag encoded variable length integer, so that values of small magnitude only take one byte.
+     */
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        out.writeByte((int) zigZag);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long zigZag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            zigZag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+        }
+        throw new IOException("Malformed variable length integer");
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import javax.script.Compilable;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+
+import org.junit.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class JavaScriptTest {
+
+    private static JavaScript compile(String source) throws ScriptException {
+        ScriptEngine engine = new ScriptEngineManager().getEngineByName("javascript");
+        return new JavaScript("test.js", ((Compilable) engine).compile(source));
+    }
+
+    @Test
+    public void testGlobalsAreNotKeptBetweenEvaluations() throws ScriptException {
+        JavaScript script = compile("var result = typeof previous === 'undefined' ? input : previous; "
+                + "previous = input; result");
+
+        assertEquals("first", script.eval("first"));
+        assertEquals("second", script.eval("second"));
+        assertEquals(2, script.getExecutions());
+    }
+
+    @Test
+    public void testInputIsPassedToTheScript() throws ScriptException {
+        JavaScript script = compile("(function(i) { var array = i.split(' '); "
+                + "return array[array.length - 1].length; })(input)");
+
+        assertEquals("3", script.eval("foo bar baz"));
+    }
+}
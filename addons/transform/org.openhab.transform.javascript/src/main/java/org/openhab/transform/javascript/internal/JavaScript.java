@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.script.Bindings;
+import javax.script.CompiledScript;
+import javax.script.ScriptException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * A compiled JavaScript transformation together with its execution statistics.
+ *
+ * Every evaluation runs against new engine bindings, so that transformations using the same script can run in
+ * parallel and global variables set by one evaluation are not seen by the next one.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JavaScript {
+
+    private final String filename;
+    private final CompiledScript script;
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    JavaScript(String filename, CompiledScript script) {
+        this.filename = filename;
+        this.script = script;
+    }
+
+    /**
+     * Evaluates the script against new engine bindings.
+     *
+     * @param input the value passed to the script as 'input' variable
+     * @return the result of the script
+     * @throws ScriptException if the evaluation of the script failed
+     */
+    String eval(String input) throws ScriptException {
+        final Bindings bindings = script.getEngine().createBindings();
+        bindings.put("input", input);
+        final long startTime = System.nanoTime();
+        try {
+            return String.valueOf(script.eval(bindings));
+        } finally {
+            final long elapsed = System.nanoTime() - startTime;
+            executions.increment();
+            totalNanos.add(elapsed);
+            maxNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    /**
+     * @return the number of evaluations since the script was compiled
+     */
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    /**
+     * @return the average execution time in milliseconds, 0 if the script has not been evaluated yet
+     */
+    public double getAverageMillis() {
+        final long count = executions.sum();
+        return count == 0 ? 0 : (double) totalNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @return the longest execution time in milliseconds
+     */
+    public double getMaxMillis() {
+        return (double) maxNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link JavaScriptConsoleCommandExtension} lists the execution statistics of the compiled JavaScript
+ * transformations, slowest first.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = ConsoleCommandExtension.class)
+public class JavaScriptConsoleCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String SUBCMD_STATS = "stats";
+
+    private JavaScriptEngineManager manager;
+
+    public JavaScriptConsoleCommandExtension() {
+        super("jstransform", "JavaScript transformation commands.");
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length > 0 && SUBCMD_STATS.equals(args[0])) {
+            List<JavaScript> scripts = manager.getCachedScripts();
+            if (scripts.isEmpty()) {
+                console.println("No JavaScript transformation has been compiled yet.");
+                return;
+            }
+            scripts.sort(Comparator.comparingDouble(JavaScript::getAverageMillis).reversed());
+            for (JavaScript script : scripts) {
+                console.println(String.format("%s: %d executions, avg %.3f ms, max %.3f ms", script.getFilename(),
+                        script.getExecutions(), script.getAverageMillis(), script.getMaxMillis()));
+            }
+        } else {
+            printUsage(console);
+        }
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Arrays.asList(new String[] {
+                buildCommandUsage(SUBCMD_STATS, "list execution statistics of the compiled scripts, slowest first") });
+    }
+
+    @Reference
+    protected void setJavaScriptEngineManager(JavaScriptEngineManager manager) {
+        this.manager = manager;
+    }
+
+    protected void unsetJavaScriptEngineManager(JavaScriptEngineManager manager) {
+        this.manager = null;
+    }
+}
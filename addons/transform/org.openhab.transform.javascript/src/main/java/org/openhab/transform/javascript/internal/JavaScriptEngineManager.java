@@ -17,6 +17,8 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -44,39 +46,49 @@ public class JavaScriptEngineManager {
 
     private final Logger logger = LoggerFactory.getLogger(JavaScriptEngineManager.class);
     private final ScriptEngineManager manager = new ScriptEngineManager();
-    /* keep memory foot print low. max 2 concurrent threads are estimated */
-    private final Map<String, CompiledScript> compiledScriptMap = new ConcurrentHashMap<>(4, 0.5f, 2);
+    private final Map<String, JavaScript> compiledScriptMap = new ConcurrentHashMap<>();
 
     /**
-     * Get a pre compiled script {@link CompiledScript} from cache. If it is not in the cache, then load it from
+     * Get a pre compiled script {@link JavaScript} from cache. If it is not in the cache, then load it from
      * storage and put a pre compiled version into the cache.
      *
+     * Lookups do not lock. If several threads miss the cache for the same file at the same time, each one compiles
+     * the script but only the first compiled version is kept and returned to all of them.
+     *
      * @param filename name of the JavaScript file to load
-     * @return a pre compiled script {@link CompiledScript}
+     * @return a pre compiled script {@link JavaScript}
      * @throws TransformationException if compile of JavaScript failed
      */
-    protected CompiledScript getScript(final String filename) throws TransformationException {
-        synchronized (compiledScriptMap) {
-            if (compiledScriptMap.containsKey(filename)) {
-                logger.debug("Loading JavaScript {} from cache.", filename);
-                return compiledScriptMap.get(filename);
-            } else {
-                final String path = TransformationScriptWatcher.TRANSFORM_FOLDER + File.separator + filename;
-                logger.debug("Loading script {} from storage ", path);
-                try (final Reader reader = new InputStreamReader(new FileInputStream(path))) {
-                    final ScriptEngine engine = manager.getEngineByName("javascript");
-                    final CompiledScript cScript = ((Compilable) engine).compile(reader);
-                    logger.debug("Putting compiled JavaScript {} to cache.", cScript);
-                    compiledScriptMap.put(filename, cScript);
-                    return cScript;
-                } catch (IOException | ScriptException e) {
-                    throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(),
-                            e);
-                }
-            }
+    protected JavaScript getScript(final String filename) throws TransformationException {
+        final JavaScript cachedScript = compiledScriptMap.get(filename);
+        if (cachedScript != null) {
+            logger.debug("Loading JavaScript {} from cache.", filename);
+            return cachedScript;
+        }
+
+        final String path = TransformationScriptWatcher.TRANSFORM_FOLDER + File.separator + filename;
+        logger.debug("Loading script {} from storage ", path);
+        try (final Reader reader = new InputStreamReader(new FileInputStream(path))) {
+            final ScriptEngine engine = manager.getEngineByName("javascript");
+            final CompiledScript cScript = ((Compilable) engine).compile(reader);
+            logger.debug("Putting compiled JavaScript {} to cache.", cScript);
+            final JavaScript script = new JavaScript(filename, cScript);
+            final JavaScript concurrentScript = compiledScriptMap.putIfAbsent(filename, script);
+            return concurrentScript != null ? concurrentScript : script;
+        } catch (IOException | ScriptException e) {
+            throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Get all scripts which are currently compiled, e.g. to inspect their execution statistics.
+     *
+     * @return the cached scripts
+     */
+    protected List<JavaScript> getCachedScripts() {
+        return new ArrayList<>(compiledScriptMap.values());
+    }
+
     /**
      * remove a pre compiled script from cache.
      *
@@ -99,4 +99,24 @@ public class JSonPathTransformationServiceTest {
         assertEquals("NULL", transformedResponse);
     }
 
+    @Test
+    public void testSamePayloadIsParsedOnce() throws TransformationException {
+        String payload = new StringBuilder(jsonArray).toString();
+
+        assertEquals("bob", processor.transform("$[0].name", payload));
+        assertEquals("2", processor.transform("$[1].id", payload));
+        assertEquals("alice", processor.transform("$[1].name", jsonArray));
+
+        assertEquals(1, processor.getDocumentCache().getParses());
+        assertEquals(2, processor.getDocumentCache().getHits());
+    }
+
+    @Test
+    public void testDifferentPayloadsAreParsedSeparately() throws TransformationException {
+        assertEquals("1", processor.transform("$.id", "{ \"id\":1 }"));
+        assertEquals("2", processor.transform("$.id", "{ \"id\":2 }"));
+
+        assertEquals(2, processor.getDocumentCache().getParses());
+    }
+
 }
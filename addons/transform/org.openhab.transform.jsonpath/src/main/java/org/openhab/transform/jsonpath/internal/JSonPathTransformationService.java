@@ -13,6 +13,8 @@
 package org.openhab.transform.jsonpath.internal;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -32,6 +34,10 @@ import com.jayway.jsonpath.PathNotFoundException;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by JSonPath Expressions.
  *
+ * <p>
+ * Compiled expressions are cached, and so are recently parsed payloads: when several expressions are applied to the
+ * same payload in short succession, the payload is only parsed once.
+ *
  * @author Gaël L'hopital
  * @author Sebastian Janzen
  *
@@ -40,8 +46,22 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(immediate = true, property = { "smarthome.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    /** Number of recently parsed payloads which are kept */
+    private static final int MAX_CACHED_DOCUMENTS = 16;
+
+    /** Time a parsed payload is kept, long enough for all channels reading from the same update */
+    private static final long DOCUMENT_TIME_TO_LIVE_MILLIS = 2000;
+
+    /** Maximum number of compiled expressions which are kept */
+    private static final int MAX_CACHED_PATHS = 1024;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final JsonDocumentCache documentCache = new JsonDocumentCache(MAX_CACHED_DOCUMENTS,
+            DOCUMENT_TIME_TO_LIVE_MILLIS);
+
+    private final Map<String, JsonPath> compiledPaths = new ConcurrentHashMap<>();
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -59,7 +79,7 @@ public class JSonPathTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", source, jsonPathExpression);
 
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            Object transformationResult = documentCache.get(source).read(compile(jsonPathExpression));
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -75,6 +95,26 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    private JsonPath compile(String jsonPathExpression) {
+        JsonPath path = compiledPaths.get(jsonPathExpression);
+        if (path == null) {
+            path = JsonPath.compile(jsonPathExpression);
+            if (compiledPaths.size() < MAX_CACHED_PATHS) {
+                compiledPaths.put(jsonPathExpression, path);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Returns the cache of parsed payloads, e.g. to inspect how often payloads were actually parsed.
+     *
+     * @return the document cache
+     */
+    JsonDocumentCache getDocumentCache() {
+        return documentCache;
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jsonpath.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * A short-lived cache of parsed JSON documents.
+ *
+ * Bindings usually apply many JSONPath expressions, one per channel, to the very same payload within a few
+ * milliseconds. Keeping the most recently parsed payloads for a short time lets all of these expressions share a
+ * single parse. The parsed documents are only read, never modified, so they can be shared between threads.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class JsonDocumentCache {
+
+    private static class Entry {
+        final DocumentContext document;
+        final long expiresAt;
+
+        Entry(DocumentContext document, long expiresAt) {
+            this.document = document;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final long timeToLiveMillis;
+    private final int maxSize;
+
+    private final AtomicLong parses = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+
+    @SuppressWarnings("serial")
+    private final Map<String, Entry> documents = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    /**
+     * @param maxSize the maximum number of parsed documents kept
+     * @param timeToLiveMillis how long a parsed document is kept after it has been parsed
+     */
+    JsonDocumentCache(int maxSize, long timeToLiveMillis) {
+        this.maxSize = maxSize;
+        this.timeToLiveMillis = timeToLiveMillis;
+    }
+
+    /**
+     * Returns the parsed document for the given payload, parsing it only if it is not cached.
+     *
+     * @param source the JSON payload
+     * @return the parsed document
+     * @throws InvalidJsonException if the payload is not valid JSON
+     */
+    DocumentContext get(String source) {
+        long now = System.currentTimeMillis();
+        synchronized (documents) {
+            Entry entry = documents.get(source);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    hits.incrementAndGet();
+                    return entry.document;
+                }
+                documents.remove(source);
+            }
+        }
+
+        parses.incrementAndGet();
+        DocumentContext document = JsonPath.parse(source);
+        synchronized (documents) {
+            documents.put(source, new Entry(document, now + timeToLiveMillis));
+        }
+        return document;
+    }
+
+    long getParses() {
+        return parses.get();
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+}
@@ -19,6 +19,7 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.Callable;
 
@@ -134,6 +135,26 @@ public class MapTransformationServiceTest {
         Assert.assertEquals("Default Value", transformedResponse);
     }
 
+    @Test
+    public void testLoadedMapSharesIdenticalTargets() throws Exception {
+        File mapFile = new File(CONFIG_FOLDER + File.separator + "transform/map/vendors.map");
+        FileUtils.writeStringToFile(mapFile, "0x0001=Vendor A\n0x0002=Vendor B\n0x0003=Vendor A\n", "UTF-8");
+
+        Map<String, String> mapping = processor.internalLoadTransform(mapFile.getPath());
+
+        Assert.assertEquals(3, mapping.size());
+        Assert.assertEquals("Vendor A", mapping.get("0x0001"));
+        Assert.assertSame(mapping.get("0x0001"), mapping.get("0x0003"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testLoadedMapIsImmutable() throws Exception {
+        Map<String, String> mapping = processor
+                .internalLoadTransform(CONFIG_FOLDER + File.separator + "transform/" + DEFAULTED_FILENAME);
+
+        mapping.put("CLOSED", "open");
+    }
+
     protected void waitForAssert(Callable<Void> assertion, int timeout, int sleepTime) throws Exception {
         int waitingTime = 0;
         while (waitingTime < timeout) {
@@ -79,4 +79,39 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testTransformByRegex_cachesCompiledPatterns() throws TransformationException {
+        processor.transform(".*?<current_conditions>.*?<temp_c data=\"(.*?)\".*", source);
+        String transformedResponse = processor.transform(".*?<current_conditions>.*?<temp_c data=\"(.*?)\".*",
+                source);
+
+        assertEquals("8", transformedResponse);
+        assertEquals(1, processor.getPatternCache().getMisses());
+        assertEquals(1, processor.getPatternCache().getHits());
+    }
+
+    @Test
+    public void testTransformByRegex_cacheIsBounded() throws TransformationException {
+        processor.getPatternCache().resize(2);
+
+        processor.transform("s/a/b/g", "a");
+        processor.transform("s/c/d/g", "c");
+        processor.transform("s/e/f/g", "e");
+
+        assertEquals(2, processor.getPatternCache().size());
+        assertEquals(3, processor.getPatternCache().getMisses());
+    }
+
+    @Test
+    public void testTransformByRegex_cacheDisabled() throws TransformationException {
+        processor.getPatternCache().resize(0);
+
+        String transformedResponse = processor.transform("s/([A-Z]+)([0-9]+),*/var$1=$2 /g", "X12,Y54");
+        processor.transform("s/([A-Z]+)([0-9]+),*/var$1=$2 /g", "X12,Y54");
+
+        assertEquals("varX=12 varY=54 ", transformedResponse);
+        assertEquals(0, processor.getPatternCache().size());
+        assertEquals(0, processor.getPatternCache().getHits());
+    }
 }
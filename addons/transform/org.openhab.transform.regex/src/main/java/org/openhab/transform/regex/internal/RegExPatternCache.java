@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.regex.internal;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * A bounded LRU cache of compiled {@link Pattern}s, keyed by the regular expression and the compile flags.
+ *
+ * A size of 0 disables caching, every lookup then compiles the pattern.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class RegExPatternCache {
+
+    public static final int DEFAULT_SIZE = 256;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private volatile int maxSize;
+
+    @SuppressWarnings("serial")
+    private final Map<String, Pattern> patterns = new LinkedHashMap<String, Pattern>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    public RegExPatternCache(int maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+    }
+
+    /**
+     * Returns the compiled pattern for the given expression, compiling and caching it if required.
+     *
+     * @param regex the regular expression
+     * @param flags the match flags, see {@link Pattern#compile(String, int)}
+     * @return the compiled pattern
+     */
+    public Pattern get(String regex, int flags) {
+        String key = flags + ":" + regex;
+        synchronized (patterns) {
+            Pattern pattern = patterns.get(key);
+            if (pattern != null) {
+                hits.incrementAndGet();
+                return pattern;
+            }
+        }
+        misses.incrementAndGet();
+        // compile outside the lock, a concurrent miss on the same key only costs a duplicate compilation
+        Pattern pattern = Pattern.compile(regex, flags);
+        synchronized (patterns) {
+            if (maxSize > 0) {
+                patterns.put(key, pattern);
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * Changes the maximum number of cached patterns, evicting the least recently used ones if necessary.
+     *
+     * @param maxSize the new maximum size, 0 disables caching
+     */
+    public void resize(int maxSize) {
+        synchronized (patterns) {
+            this.maxSize = Math.max(0, maxSize);
+            Iterator<String> eldest = patterns.keySet().iterator();
+            while (patterns.size() > this.maxSize && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (patterns) {
+            patterns.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (patterns) {
+            return patterns.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public String toString() {
+        return "RegExPatternCache [size=" + size() + ", maxSize=" + maxSize + ", hits=" + getHits() + ", misses="
+                + getMisses() + "]";
+    }
+}
@@ -12,6 +12,7 @@
  */
 package org.openhab.transform.regex.internal;
 
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -19,7 +20,10 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
+import org.osgi.framework.Constants;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,16 +34,54 @@ import org.slf4j.LoggerFactory;
  * <p>
  * <b>Note:</b> the given Regular Expression must contain exactly one group!
  *
+ * <p>
+ * Compiled patterns are kept in a LRU cache whose size can be configured via the {@code cacheSize} property.
+ *
  * @author Thomas.Eichstaedt-Engelen
  */
 @NonNullByDefault
-@Component(immediate = true, property = { "smarthome.transform=REGEX" })
+@Component(immediate = true, configurationPid = "org.openhab.regex", property = { "smarthome.transform=REGEX",
+        Constants.SERVICE_PID + "=org.openhab.regex" })
 public class RegExTransformationService implements TransformationService {
 
+    private static final String CONFIG_CACHE_SIZE = "cacheSize";
+
     private final Logger logger = LoggerFactory.getLogger(RegExTransformationService.class);
 
     private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
 
+    private final RegExPatternCache patternCache = new RegExPatternCache(RegExPatternCache.DEFAULT_SIZE);
+
+    @Activate
+    protected void activate(Map<String, Object> config) {
+        modified(config);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        int cacheSize = RegExPatternCache.DEFAULT_SIZE;
+        Object configuredSize = config.get(CONFIG_CACHE_SIZE);
+        if (configuredSize != null) {
+            try {
+                cacheSize = Integer.parseInt(configuredSize.toString().trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid value '{}' for '{}', using default of {}", configuredSize,
+                        CONFIG_CACHE_SIZE, RegExPatternCache.DEFAULT_SIZE);
+            }
+        }
+        patternCache.resize(cacheSize);
+        logger.debug("Pattern cache configured: {}", patternCache);
+    }
+
+    /**
+     * Returns the cache holding the compiled patterns, e.g. to inspect its hit and miss counters.
+     *
+     * @return the pattern cache
+     */
+    RegExPatternCache getPatternCache() {
+        return patternCache;
+    }
+
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
         if (regExpression == null || source == null) {
@@ -56,17 +98,18 @@ public class RegExTransformationService implements TransformationService {
             String regex = substMatcher.group(1);
             String substitution = substMatcher.group(2);
             String options = substMatcher.group(3);
+            Matcher replaceMatcher = patternCache.get(regex, 0).matcher(source.trim());
             if (options.equals("g")) {
-                result = source.trim().replaceAll(regex, substitution);
+                result = replaceMatcher.replaceAll(substitution);
             } else {
-                result = source.trim().replaceFirst(regex, substitution);
+                result = replaceMatcher.replaceFirst(substitution);
             }
             if (result != null) {
                 return result;
             }
         }
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
+        Matcher matcher = patternCache.get("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
@@ -92,6 +135,10 @@ public class RegExTransformationService implements TransformationService {
             }
         }
 
+        if (logger.isTraceEnabled()) {
+            logger.trace("Pattern cache statistics: {}", patternCache);
+        }
+
         return result;
     }
 
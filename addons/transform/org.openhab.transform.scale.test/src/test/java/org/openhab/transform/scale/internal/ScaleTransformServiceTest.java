@@ -124,6 +124,31 @@ public class ScaleTransformServiceTest {
         Assert.assertEquals("first", transformedResponse);
     }
 
+    @Test
+    public void testTransformByScaleBounds() throws TransformationException {
+        String existingscale = "scale/limits.scale";
+
+        // values on and next to the bounds, also with a precision beyond double
+        Assert.assertEquals("low", processor.transform(existingscale, "9.999"));
+        Assert.assertEquals("middle", processor.transform(existingscale, "10"));
+        Assert.assertEquals("middle", processor.transform(existingscale, "10.000"));
+        Assert.assertEquals("middle", processor.transform(existingscale, "1e1"));
+        Assert.assertEquals("low", processor.transform(existingscale, "9.99999999999999999999999"));
+        Assert.assertEquals("middle", processor.transform(existingscale, "19.99999999999999999999999"));
+        Assert.assertEquals("high", processor.transform(existingscale, "20"));
+    }
+
+    @Test
+    public void testEvaluationOrderOnOverlappingBounds() throws TransformationException {
+        String evaluationOrder = "scale/evaluationorder.scale";
+
+        Assert.assertEquals("first", processor.transform(evaluationOrder, "10"));
+        Assert.assertEquals("first", processor.transform(evaluationOrder, "14.99999999999999999999999"));
+        Assert.assertEquals("second", processor.transform(evaluationOrder, "15"));
+        Assert.assertEquals("second", processor.transform(evaluationOrder, "16.9"));
+        Assert.assertEquals("last", processor.transform(evaluationOrder, "17"));
+    }
+
     @Test
     public void testTransformQuantityType() throws TransformationException {
         QuantityType<Dimensionless> airQuality = new QuantityType<>("992 ppm");
@@ -134,4 +159,13 @@ public class ScaleTransformServiceTest {
         Assert.assertEquals(expected, transformedResponse);
     }
 
+    @Test
+    public void testTransformNegativeZero() throws TransformationException {
+        String aqScaleFile = "scale/netatmo_aq.scale";
+
+        // -0 equals the lower bound 0 of the first range
+        Assert.assertEquals("Excellente qualite d'air", processor.transform(aqScaleFile, "-0"));
+        Assert.assertEquals("Excellente qualite d'air", processor.transform(aqScaleFile, "-0.0"));
+    }
+
 }
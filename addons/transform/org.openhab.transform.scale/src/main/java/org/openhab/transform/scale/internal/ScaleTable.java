@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Sorted index over the ranges of a scale file.
+ *
+ * All bounds of all ranges split the number line into elementary regions: the bounds themselves and the open
+ * intervals between them. Within one region every range either contains all values or none, so the result of the
+ * first matching range in file order is computed once per region when the file is loaded. A lookup is then a binary
+ * search for the region of the value, regardless of whether the ranges overlap.
+ *
+ * Regions are numbered from 0 to 2n, where n is the number of distinct bounds: region 2i+1 is the i-th bound and
+ * region 2i is the open interval below it.
+ *
+ * @author agent - Initial contribution
+ */
+public class ScaleTable {
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    private final BigDecimal[] bounds;
+    private final double[] doubleBounds;
+    private final String[] results;
+    private final int rangeCount;
+
+    /**
+     * Builds the index.
+     *
+     * @param ranges the ranges and their results, iterated in the order of the scale file
+     */
+    ScaleTable(Map<Range, String> ranges) {
+        TreeSet<BigDecimal> distinctBounds = new TreeSet<>();
+        for (Range range : ranges.keySet()) {
+            if (range.min != null) {
+                distinctBounds.add(range.min);
+            }
+            if (range.max != null) {
+                distinctBounds.add(range.max);
+            }
+        }
+        rangeCount = ranges.size();
+        bounds = distinctBounds.toArray(new BigDecimal[distinctBounds.size()]);
+        doubleBounds = new double[bounds.length];
+        for (int i = 0; i < bounds.length; i++) {
+            doubleBounds[i] = bounds[i].doubleValue();
+        }
+
+        results = new String[2 * bounds.length + 1];
+        for (int region = 0; region < results.length; region++) {
+            BigDecimal representative = representativeOf(region);
+            for (Map.Entry<Range, String> entry : ranges.entrySet()) {
+                if (entry.getKey().contains(representative)) {
+                    results[region] = entry.getValue();
+                    break;
+                }
+            }
+        }
+    }
+
+    private BigDecimal representativeOf(int region) {
+        if (bounds.length == 0) {
+            return BigDecimal.ZERO;
+        }
+        if (region % 2 == 1) {
+            return bounds[region / 2];
+        }
+        int upper = region / 2;
+        if (upper == 0) {
+            return bounds[0].subtract(BigDecimal.ONE);
+        }
+        if (upper == bounds.length) {
+            return bounds[bounds.length - 1].add(BigDecimal.ONE);
+        }
+        return bounds[upper - 1].add(bounds[upper]).divide(TWO);
+    }
+
+    /**
+     * Finds the region of the given value.
+     *
+     * @param value the value to look up
+     * @return the region
+     */
+    int findRegion(BigDecimal value) {
+        int index = Arrays.binarySearch(bounds, value);
+        return index >= 0 ? 2 * index + 1 : 2 * (-index - 1);
+    }
+
+    /**
+     * Finds the region of the given value without {@link BigDecimal} arithmetic.
+     *
+     * Rounding to double preserves the order of decimal numbers, so a value whose double lies strictly between two
+     * bounds lies strictly between them as decimal number, too. Only if the double equals a bound, the decimal value
+     * might still be slightly above or below it; in that case, as for infinite and NaN values, the region is unknown.
+     *
+     * @param value the value to look up
+     * @return the region, or -1 if it must be determined by {@link #findRegion(BigDecimal)}
+     */
+    int findRegion(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return -1;
+        }
+        // binarySearch orders -0.0 below 0.0, adding 0.0 turns -0.0 into 0.0
+        int index = Arrays.binarySearch(doubleBounds, value + 0.0);
+        return index >= 0 ? -1 : 2 * (-index - 1);
+    }
+
+    /**
+     * @param region a region returned by one of the findRegion methods
+     * @return the result of the first range containing the region, or <code>null</code> if no range contains it
+     */
+    String getResult(int region) {
+        return results[region];
+    }
+
+    /**
+     * @return the number of ranges in the scale file
+     */
+    public int size() {
+        return rangeCount;
+    }
+}
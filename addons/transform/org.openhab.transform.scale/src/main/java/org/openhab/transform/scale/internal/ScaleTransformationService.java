@@ -38,11 +38,13 @@ import org.slf4j.LoggerFactory;
  * The implementation of {@link TransformationService} which transforms the
  * input by matching it between limits of ranges in a scale file
  *
+ * The ranges are indexed when the scale file is loaded, so that the matching range is found by binary search.
+ *
  * @author Gaël L'hopital
  * @author Markus Rathgeb - drop usage of Guava
  */
 @Component(immediate = true, service = TransformationService.class, property = { "smarthome.transform=SCALE" })
-public class ScaleTransformationService extends AbstractFileTransformationService<Map<Range, String>> {
+public class ScaleTransformationService extends AbstractFileTransformationService<ScaleTable> {
 
     private final Logger logger = LoggerFactory.getLogger(ScaleTransformationService.class);
 
@@ -85,12 +87,22 @@ public class ScaleTransformationService extends AbstractFileTransformationServic
      * The method transforms the input <code>source</code> by matching searching
      * the range where it fits i.e. [min..max]=value or ]min..max]=value
      *
-     * @param properties the list of properties defining all the available ranges
-     * @param source     the input to transform
+     * @param data   the index of all the available ranges
+     * @param source the input to transform
      *
      */
     @Override
-    protected String internalTransform(Map<Range, String> data, String source) throws TransformationException {
+    protected String internalTransform(ScaleTable data, String source) throws TransformationException {
+        if (isPlainNumber(source)) {
+            try {
+                final int region = data.findRegion(Double.parseDouble(source));
+                if (region >= 0) {
+                    return getScaleResult(data, source, region);
+                }
+            } catch (NumberFormatException e) {
+                // not a number after all, handled below
+            }
+        }
         try {
             final BigDecimal value = new BigDecimal(source);
 
@@ -106,15 +118,38 @@ public class ScaleTransformationService extends AbstractFileTransformationServic
         }
     }
 
-    private String getScaleResult(Map<Range, String> data, String source, final BigDecimal value)
+    private String getScaleResult(ScaleTable data, String source, final BigDecimal value)
             throws TransformationException {
-        return data.entrySet().stream().filter(entry -> entry.getKey().contains(value)).findFirst()
-                .map(Map.Entry::getValue)
-                .orElseThrow(() -> new TransformationException("No matching range for '" + source + "'"));
+        return getScaleResult(data, source, data.findRegion(value));
+    }
+
+    private String getScaleResult(ScaleTable data, String source, final int region) throws TransformationException {
+        final String result = data.getResult(region);
+        if (result == null) {
+            throw new TransformationException("No matching range for '" + source + "'");
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the source only consists of the characters of a decimal number, in which case
+     * {@link Double#parseDouble(String)} and {@link BigDecimal#BigDecimal(String)} accept the same inputs.
+     */
+    private static boolean isPlainNumber(String source) {
+        if (source.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < source.length(); i++) {
+            final char c = source.charAt(i);
+            if ((c < '0' || c > '9') && c != '.' && c != '-' && c != '+' && c != 'e' && c != 'E') {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
-    protected Map<Range, String> internalLoadTransform(String filename) throws TransformationException {
+    protected ScaleTable internalLoadTransform(String filename) throws TransformationException {
         try (FileReader reader = new FileReader(filename)) {
             final Map<Range, String> data = new LinkedHashMap<>();
             final OrderedProperties properties = new OrderedProperties();
@@ -146,7 +181,7 @@ public class ScaleTransformationService extends AbstractFileTransformationServic
                 }
             }
 
-            return data;
+            return new ScaleTable(data);
         } catch (final IOException ex) {
             throw new TransformationException("An error occurred while opening file.", ex);
         }
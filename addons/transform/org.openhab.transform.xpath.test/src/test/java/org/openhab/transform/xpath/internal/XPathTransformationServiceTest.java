@@ -41,4 +41,53 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         assertEquals("8", transformedResponse);
     }
 
+    @Test
+    public void testTransformByXPath_simplePathAttribute() throws TransformationException {
+
+        // method under test
+        String transformedResponse = processor
+                .transform("/xml_api_reply/weather/current_conditions/humidity/@data", source);
+
+        // Asserts
+        assertEquals("Feuchtigkeit: 66 %", transformedResponse);
+    }
+
+    @Test
+    public void testTransformByXPath_simplePathElement() throws TransformationException {
+
+        // method under test
+        String transformedResponse = processor.transform("/root/node", "<root><node>a<sub>b</sub></node></root>");
+
+        // Asserts
+        assertEquals("ab", transformedResponse);
+    }
+
+    @Test
+    public void testTransformByXPath_simplePathNoMatch() throws TransformationException {
+
+        // method under test
+        String transformedResponse = processor.transform("/xml_api_reply/weather/unknown/@data", source);
+
+        // Asserts
+        assertEquals("", transformedResponse);
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testTransformByXPath_simplePathMalformedSource() throws TransformationException {
+
+        // method under test
+        processor.transform("/root/node", "<root><node>a</node>");
+    }
+
+    @Test
+    public void testTransformByXPath_repeatedExpression() throws TransformationException {
+
+        // method under test
+        processor.transform("//forecast_conditions[2]/high/@data", source);
+        String transformedResponse = processor.transform("//forecast_conditions[2]/high/@data", source);
+
+        // Asserts
+        assertEquals("8", transformedResponse);
+    }
+
 }
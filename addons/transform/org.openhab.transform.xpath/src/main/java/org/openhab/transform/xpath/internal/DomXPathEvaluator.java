@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xpath.internal;
+
+import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+/**
+ * Evaluates XPath expressions by parsing the source into a DOM.
+ *
+ * Neither {@link DocumentBuilder} nor {@link XPath} nor {@link XPathExpression} are thread-safe, so an instance of
+ * this class must only be used by one thread at a time. The service keeps a pool of evaluators, each one reusing its
+ * builder and keeping a bounded cache of the expressions it has compiled.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class DomXPathEvaluator {
+
+    private final DocumentBuilder builder;
+    private final XPath xpath;
+
+    private final Map<String, XPathExpression> expressions;
+
+    @SuppressWarnings("serial")
+    DomXPathEvaluator(int maxCachedExpressions) throws ParserConfigurationException {
+        DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+        domFactory.setNamespaceAware(true);
+        domFactory.setValidating(false);
+        builder = domFactory.newDocumentBuilder();
+        xpath = XPathFactory.newInstance().newXPath();
+        expressions = new LinkedHashMap<String, XPathExpression>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+                return size() > maxCachedExpressions;
+            }
+        };
+    }
+
+    /**
+     * Parses the source and evaluates the expression on it.
+     *
+     * @param xpathExpression the XPath expression
+     * @param source the XML document
+     * @return the string value of the expression
+     * @throws Exception if the expression cannot be compiled or evaluated, or if the source cannot be parsed
+     */
+    String evaluate(String xpathExpression, String source) throws Exception {
+        XPathExpression expr = compile(xpathExpression);
+
+        try (StringReader stringReader = new StringReader(source)) {
+            InputSource inputSource = new InputSource(stringReader);
+            inputSource.setEncoding("UTF-8");
+
+            Document doc = builder.parse(inputSource);
+            return (String) expr.evaluate(doc, XPathConstants.STRING);
+        } finally {
+            builder.reset();
+        }
+    }
+
+    private XPathExpression compile(String xpathExpression) throws XPathExpressionException {
+        XPathExpression expr = expressions.get(xpathExpression);
+        if (expr == null) {
+            expr = xpath.compile(xpathExpression);
+            expressions.put(xpathExpression, expr);
+        }
+        return expr;
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xpath.internal;
+
+import java.io.StringReader;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Evaluates simple absolute location paths like <code>/root/node/value</code> or <code>/root/node/@attribute</code>
+ * with a StAX parser, without building a DOM of the whole document.
+ *
+ * The result is the same as the one of the XPath <code>string()</code> function: the string value of the first
+ * matching node in document order, or an empty string if no node matches. Like the DOM parser the stream parser reads
+ * the whole document, so malformed input is rejected in the same way.
+ *
+ * Instances are immutable and thread-safe.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class StreamingPathEvaluator {
+
+    private static final String NAME = "[A-Za-z_][A-Za-z0-9_.\\-]*";
+
+    /** Absolute paths of unprefixed element names, optionally ending with an attribute step */
+    private static final Pattern SIMPLE_PATH_PATTERN = Pattern.compile("(/" + NAME + ")+(/@" + NAME + ")?");
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private final String[] elements;
+    private final @Nullable String attribute;
+
+    private StreamingPathEvaluator(String[] elements, @Nullable String attribute) {
+        this.elements = elements;
+        this.attribute = attribute;
+    }
+
+    /**
+     * Creates an evaluator for the given expression, if it is a simple absolute path.
+     *
+     * @param xpathExpression the XPath expression
+     * @return the evaluator or <code>null</code> if the expression must be evaluated on a DOM
+     */
+    static @Nullable StreamingPathEvaluator forExpression(String xpathExpression) {
+        String expression = xpathExpression.trim();
+        if (!SIMPLE_PATH_PATTERN.matcher(expression).matches()) {
+            return null;
+        }
+        String[] steps = expression.substring(1).split("/");
+        String lastStep = steps[steps.length - 1];
+        if (lastStep.startsWith("@")) {
+            String[] elements = new String[steps.length - 1];
+            System.arraycopy(steps, 0, elements, 0, elements.length);
+            return new StreamingPathEvaluator(elements, lastStep.substring(1));
+        }
+        return new StreamingPathEvaluator(steps, null);
+    }
+
+    /**
+     * Streams through the source and returns the string value of the first matching node.
+     *
+     * @param source the XML document
+     * @return the string value of the first matching node, or an empty string if no node matches
+     * @throws XMLStreamException if the source is not well-formed
+     */
+    String evaluate(String source) throws XMLStreamException {
+        XMLStreamReader reader;
+        synchronized (INPUT_FACTORY) {
+            reader = INPUT_FACTORY.createXMLStreamReader(new StringReader(source));
+        }
+        try {
+            String result = null;
+            StringBuilder text = null;
+            // number of leading path steps matched by the currently open elements
+            int matchedDepth = 0;
+            int depth = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    if (result == null && text == null && matchedDepth == depth - 1 && matchedDepth < elements.length
+                            && isPathElement(reader, matchedDepth)) {
+                        matchedDepth++;
+                        if (matchedDepth == elements.length) {
+                            if (attribute != null) {
+                                result = reader.getAttributeValue("", attribute);
+                            } else {
+                                text = new StringBuilder();
+                            }
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (matchedDepth == depth) {
+                        matchedDepth--;
+                        if (text != null) {
+                            result = text.toString();
+                            text = null;
+                        }
+                    }
+                    depth--;
+                } else if (text != null && (event == XMLStreamConstants.CHARACTERS
+                        || event == XMLStreamConstants.CDATA || event == XMLStreamConstants.SPACE)) {
+                    text.append(reader.getText());
+                }
+            }
+            return result != null ? result : "";
+        } finally {
+            reader.close();
+        }
+    }
+
+    private boolean isPathElement(XMLStreamReader reader, int step) {
+        String namespace = reader.getNamespaceURI();
+        return (namespace == null || namespace.isEmpty()) && elements[step].equals(reader.getLocalName());
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_VALIDATING, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
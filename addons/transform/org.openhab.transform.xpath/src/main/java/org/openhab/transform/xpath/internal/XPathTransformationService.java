@@ -12,14 +12,10 @@
  */
 package org.openhab.transform.xpath.internal;
 
-import java.io.StringReader;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpression;
-import javax.xml.xpath.XPathFactory;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -28,21 +24,37 @@ import org.eclipse.smarthome.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.xml.sax.InputSource;
 
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XPath Expressions.
  *
+ * <p>
+ * Simple absolute paths like <code>/root/node/@attribute</code> are evaluated while streaming through the input,
+ * all other expressions are evaluated on a DOM by a pool of evaluators which reuse their parser and compiled
+ * expressions.
+ *
  * @author Thomas.Eichstaedt-Engelen
  */
 @NonNullByDefault
 @Component(immediate = true, property = { "smarthome.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    /** Maximum number of idle evaluators kept in the pool, further evaluators are discarded after use */
+    private static final int MAX_IDLE_EVALUATORS = 8;
+
+    /** Maximum number of compiled expressions cached by each pooled evaluator */
+    private static final int MAX_CACHED_EXPRESSIONS = 64;
+
+    /** Maximum number of simple paths for which a streaming evaluator is cached */
+    private static final int MAX_STREAMING_EXPRESSIONS = 256;
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    private final Queue<DomXPathEvaluator> idleEvaluators = new ArrayBlockingQueue<>(MAX_IDLE_EVALUATORS);
+
+    private final Map<String, StreamingPathEvaluator> streamingEvaluators = new ConcurrentHashMap<>();
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -51,35 +63,42 @@ public class XPathTransformationService implements TransformationService {
 
         logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
 
-        StringReader stringReader = null;
-
         try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
-            domFactory.setNamespaceAware(true);
-            domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
-
-            stringReader = new StringReader(source);
-            InputSource inputSource = new InputSource(stringReader);
-            inputSource.setEncoding("UTF-8");
-
-            Document doc = builder.parse(inputSource);
-
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
-
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            String transformationResult;
+
+            StreamingPathEvaluator streamingEvaluator = getStreamingEvaluator(xpathExpression);
+            if (streamingEvaluator != null) {
+                transformationResult = streamingEvaluator.evaluate(source);
+            } else {
+                DomXPathEvaluator evaluator = idleEvaluators.poll();
+                if (evaluator == null) {
+                    evaluator = new DomXPathEvaluator(MAX_CACHED_EXPRESSIONS);
+                }
+                try {
+                    transformationResult = evaluator.evaluate(xpathExpression, source);
+                } finally {
+                    // discarded if the pool is full
+                    idleEvaluators.offer(evaluator);
+                }
+            }
 
             logger.debug("transformation resulted in '{}'", transformationResult);
 
             return transformationResult;
         } catch (Exception e) {
             throw new TransformationException("transformation throws exceptions", e);
-        } finally {
-            if (stringReader != null) {
-                stringReader.close();
+        }
+    }
+
+    private @Nullable StreamingPathEvaluator getStreamingEvaluator(String xpathExpression) {
+        StreamingPathEvaluator evaluator = streamingEvaluators.get(xpathExpression);
+        if (evaluator == null) {
+            evaluator = StreamingPathEvaluator.forExpression(xpathExpression);
+            if (evaluator != null && streamingEvaluators.size() < MAX_STREAMING_EXPRESSIONS) {
+                streamingEvaluators.put(xpathExpression, evaluator);
             }
         }
+        return evaluator;
     }
 
 }
@@ -14,6 +14,8 @@ package org.openhab.transform.xslt.internal;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Locale;
+
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.junit.Before;
 import org.junit.Test;
@@ -28,7 +30,12 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
 
     @Before
     public void init() {
-        processor = new XsltTransformationService();
+        processor = new XsltTransformationService() {
+            @Override
+            protected Locale getLocale() {
+                return Locale.US;
+            }
+        };
     }
 
     @Test
@@ -41,4 +48,16 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         assertEquals("8", transformedResponse);
     }
 
+    @Test
+    public void testTransformByXSLT_reusesCompiledStylesheet() throws TransformationException {
+
+        // method under test
+        String firstResponse = processor.transform("http/google_weather.xsl", source);
+        String secondResponse = processor.transform("http/google_weather.xsl", source);
+
+        // Asserts
+        assertEquals("8", firstResponse);
+        assertEquals("8", secondResponse);
+    }
+
 }
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xslt.internal;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * A compiled XSLT stylesheet together with a pool of {@link Transformer}s created from it.
+ *
+ * {@link Templates} are thread-safe and hold the compiled form of the stylesheet, whereas a {@link Transformer} may
+ * only be used by one thread at a time. Transformers are therefore borrowed for the duration of one transformation
+ * and returned afterwards, so that they can be reused without compiling the stylesheet again.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class XsltStylesheet {
+
+    /** Upper bound of idle transformers kept per stylesheet */
+    private static final int MAX_IDLE_TRANSFORMERS = 8;
+
+    private final Templates templates;
+    private final Queue<Transformer> idleTransformers = new ConcurrentLinkedQueue<>();
+
+    XsltStylesheet(Templates templates) {
+        this.templates = templates;
+    }
+
+    /**
+     * Borrows a transformer, creating a new one if none is idle.
+     *
+     * @return a transformer for exclusive use by the caller until it is released
+     * @throws TransformerConfigurationException if a new transformer cannot be created
+     */
+    Transformer borrowTransformer() throws TransformerConfigurationException {
+        Transformer transformer = idleTransformers.poll();
+        return transformer != null ? transformer : templates.newTransformer();
+    }
+
+    /**
+     * Returns a transformer obtained by {@link #borrowTransformer()} to the pool.
+     *
+     * @param transformer the transformer to return
+     */
+    void releaseTransformer(Transformer transformer) {
+        transformer.reset();
+        if (idleTransformers.size() < MAX_IDLE_TRANSFORMERS) {
+            idleTransformers.offer(transformer);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.ui.basic.internal.render;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.smarthome.model.sitemap.ColorArray;
+import org.eclipse.smarthome.model.sitemap.SitemapFactory;
+import org.eclipse.smarthome.model.sitemap.Text;
+import org.eclipse.smarthome.model.sitemap.VisibilityRule;
+import org.eclipse.smarthome.model.sitemap.Widget;
+import org.junit.Test;
+
+/**
+ * Tests the collection of the items the rendering of a page depends on, which invalidate the cached page
+ *
+ * @author agent - Initial contribution
+ */
+public class PageRendererTest {
+
+    private final PageRenderer renderer = new PageRenderer();
+
+    @Test
+    public void itemsOfTheParentWidgetAreCollected() {
+        // the title of the subpage is the parent's label, e.g. "Windows [%d]"
+        Text parent = text("Windows");
+        parent.getVisibility().add(visibilityRule("ShowWindows"));
+        parent.getLabelColor().add(color("WindowsAlarm"));
+
+        Set<String> itemNames = new HashSet<>();
+        assertTrue(renderer.collectItemNames(parent, children(text("Window1"), text("Window2")), itemNames));
+
+        assertThat(itemNames, is(names("Windows", "ShowWindows", "WindowsAlarm", "Window1", "Window2")));
+    }
+
+    @Test
+    public void rootPageOnlyDependsOnTheChildren() {
+        Text child = text("Window1");
+        child.getValueColor().add(color("WindowsAlarm"));
+
+        Set<String> itemNames = new HashSet<>();
+        assertTrue(renderer.collectItemNames(null, children(child), itemNames));
+
+        assertThat(itemNames, is(names("Window1", "WindowsAlarm")));
+    }
+
+    @Test
+    public void pagesWithChartsAreNotCached() {
+        Set<String> itemNames = new HashSet<>();
+        assertFalse(renderer.collectItemNames(text("Windows"),
+                children(text("Window1"), SitemapFactory.eINSTANCE.createChart()), itemNames));
+    }
+
+    private static Text text(String item) {
+        Text text = SitemapFactory.eINSTANCE.createText();
+        text.setItem(item);
+        return text;
+    }
+
+    private static VisibilityRule visibilityRule(String item) {
+        VisibilityRule rule = SitemapFactory.eINSTANCE.createVisibilityRule();
+        rule.setItem(item);
+        return rule;
+    }
+
+    private static ColorArray color(String item) {
+        ColorArray color = SitemapFactory.eINSTANCE.createColorArray();
+        color.setItem(item);
+        return color;
+    }
+
+    private static EList<Widget> children(Widget... widgets) {
+        return new BasicEList<>(Arrays.asList(widgets));
+    }
+
+    private static Set<String> names(String... names) {
+        return new HashSet<>(Arrays.asList(names));
+    }
+}
@@ -13,7 +13,9 @@
 package org.openhab.ui.basic.internal.render;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang.StringEscapeUtils;
 import org.apache.commons.lang.StringUtils;
@@ -59,12 +61,13 @@ public class FrameRenderer extends AbstractWidgetRenderer {
 
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
-        String snippet = getSnippet("frame");
+        SnippetTemplate snippet = getSnippetTemplate("frame");
         String label = StringEscapeUtils.escapeHtml(itemUIRegistry.getLabel(w));
         List<String> frameClassList = new ArrayList<>();
 
-        snippet = StringUtils.replace(snippet, "%label%", label);
-        snippet = StringUtils.replace(snippet, "%widget_id%", itemUIRegistry.getWidgetId(w));
+        Map<String, String> values = new HashMap<>();
+        values.put("label", label);
+        values.put("widget_id", itemUIRegistry.getWidgetId(w));
 
         if (label.isEmpty()) {
             frameClassList.add("mdl-form--no-label");
@@ -75,12 +78,12 @@ public class FrameRenderer extends AbstractWidgetRenderer {
         }
 
         String frameClass = StringUtils.join(frameClassList, ' ');
-        snippet = StringUtils.replace(snippet, "%frame_class%", frameClass);
+        values.put("frame_class", frameClass);
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, values);
 
-        sb.append(snippet);
+        snippet.render(sb, values);
         return itemUIRegistry.getChildren((Frame) w);
     }
 
@@ -12,7 +12,8 @@
  */
 package org.openhab.ui.basic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
+import java.util.Map;
+
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.library.types.PointType;
 import org.eclipse.smarthome.core.types.State;
@@ -57,22 +58,22 @@ public class MapviewRenderer extends AbstractWidgetRenderer {
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
         Mapview mapview = (Mapview) w;
-        String snippet = getSnippet("mapview");
-        snippet = preprocessSnippet(snippet, mapview);
+        SnippetTemplate snippet = getSnippetTemplate("mapview");
+        Map<String, String> values = preprocessSnippet(mapview);
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, values);
 
         State state = itemUIRegistry.getState(mapview);
         if (state instanceof PointType) {
             PointType pointState = (PointType) state;
             double latitude = pointState.getLatitude().doubleValue();
             double longitude = pointState.getLongitude().doubleValue();
-            snippet = StringUtils.replace(snippet, "%lat%", Double.toString(latitude));
-            snippet = StringUtils.replace(snippet, "%lon%", Double.toString(longitude));
-            snippet = StringUtils.replace(snippet, "%lonminus%", Double.toString(longitude - 0.01));
-            snippet = StringUtils.replace(snippet, "%lonplus%", Double.toString(longitude + 0.01));
-            snippet = StringUtils.replace(snippet, "%latminus%", Double.toString(latitude - 0.01));
-            snippet = StringUtils.replace(snippet, "%latplus%", Double.toString(latitude + 0.01));
+            values.put("lat", Double.toString(latitude));
+            values.put("lon", Double.toString(longitude));
+            values.put("lonminus", Double.toString(longitude - 0.01));
+            values.put("lonplus", Double.toString(longitude + 0.01));
+            values.put("latminus", Double.toString(latitude - 0.01));
+            values.put("latplus", Double.toString(latitude + 0.01));
         }
 
         int height = mapview.getHeight();
@@ -80,9 +81,9 @@ public class MapviewRenderer extends AbstractWidgetRenderer {
             height = 4; // set default height to something viewable
         }
         height = height * 36;
-        snippet = StringUtils.replace(snippet, "%height%", Integer.toString(height));
+        values.put("height", Integer.toString(height));
 
-        sb.append(snippet);
+        snippet.render(sb, values);
         return null;
     }
 
@@ -13,18 +13,25 @@
 package org.openhab.ui.basic.internal.render;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.smarthome.core.i18n.LocaleProvider;
 import org.eclipse.smarthome.core.i18n.TranslationProvider;
+import org.eclipse.smarthome.model.sitemap.Chart;
+import org.eclipse.smarthome.model.sitemap.ColorArray;
 import org.eclipse.smarthome.model.sitemap.Frame;
+import org.eclipse.smarthome.model.sitemap.Image;
 import org.eclipse.smarthome.model.sitemap.Sitemap;
 import org.eclipse.smarthome.model.sitemap.SitemapProvider;
+import org.eclipse.smarthome.model.sitemap.Video;
+import org.eclipse.smarthome.model.sitemap.VisibilityRule;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.items.ItemUIRegistry;
 import org.openhab.ui.basic.internal.WebAppConfig;
@@ -94,10 +101,11 @@ public class PageRenderer extends AbstractWidgetRenderer {
      */
     public StringBuilder processPage(String id, String sitemap, String label, EList<Widget> children, boolean async)
             throws RenderException {
-        String snippet = getSnippet(async ? "layer" : "main");
-        snippet = snippet.replaceAll("%main.offline-msg%", localizeText("@text/main.offline-msg"));
-        snippet = snippet.replaceAll("%main.long-polling-mode-msg%", localizeText("@text/main.long-polling-mode-msg"));
-        snippet = snippet.replaceAll("%id%", id);
+        SnippetTemplate snippet = getSnippetTemplate(async ? "layer" : "main");
+        Map<String, String> values = new HashMap<>();
+        values.put("main.offline-msg", localizeText("@text/main.offline-msg"));
+        values.put("main.long-polling-mode-msg", localizeText("@text/main.long-polling-mode-msg"));
+        values.put("id", id);
 
         // if the label contains a value span, we remove this span as
         // the title of a page/layer cannot deal with this
@@ -108,14 +116,14 @@ public class PageRenderer extends AbstractWidgetRenderer {
         if (labelPlain.contains("[") && labelPlain.endsWith("]")) {
             labelPlain = labelPlain.replace("[", "").replace("]", "");
         }
-        snippet = StringUtils.replace(snippet, "%label%", escapeHtml(labelPlain));
-        snippet = StringUtils.replace(snippet, "%servletname%", WebAppServlet.SERVLET_NAME);
-        snippet = StringUtils.replace(snippet, "%sitemap%", sitemap);
-        snippet = StringUtils.replace(snippet, "%htmlclass%", config.getCssClassList());
-        snippet = StringUtils.replace(snippet, "%icon_type%", config.getIconType());
-        snippet = StringUtils.replace(snippet, "%theme%", config.getTheme());
+        values.put("label", escapeHtml(labelPlain));
+        values.put("servletname", WebAppServlet.SERVLET_NAME);
+        values.put("sitemap", sitemap);
+        values.put("htmlclass", config.getCssClassList());
+        values.put("icon_type", config.getIconType());
+        values.put("theme", config.getTheme());
 
-        String[] parts = snippet.split("%children%");
+        String[] parts = snippet.render(values).split("%children%");
 
         StringBuilder preChildren = new StringBuilder(parts[0]);
         StringBuilder postChildren = new StringBuilder(parts[1]);
@@ -129,6 +137,65 @@ public class PageRenderer extends AbstractWidgetRenderer {
         return preChildren.append(postChildren);
     }
 
+    /**
+     * Collects the names of all items the rendering of a page depends on, i.e. the items of the widgets and of their
+     * visibility and color rules, including the widgets of nested frames. The title of a subpage is the label of its
+     * parent widget, which can contain the state of its item, so the items of the parent widget are collected as well.
+     *
+     * @param parent    the widget whose children appear on the page, or null for the root page of a sitemap
+     * @param children  the widgets of the page
+     * @param itemNames the set to add the item names to
+     * @return false, if the rendered widgets depend on more than item states (e.g. image and chart URLs contain the
+     *         current time), so that the page must not be cached
+     */
+    public boolean collectItemNames(Widget parent, EList<Widget> children, Set<String> itemNames) {
+        if (parent != null) {
+            collectWidgetItemNames(parent, itemNames);
+        }
+        return collectChildItemNames(children, itemNames);
+    }
+
+    private boolean collectChildItemNames(EList<Widget> children, Set<String> itemNames) {
+        for (Widget w : children) {
+            if (w instanceof Image || w instanceof Chart || w instanceof Video) {
+                return false;
+            }
+            collectWidgetItemNames(w, itemNames);
+            if (w instanceof Frame && !collectChildItemNames(itemUIRegistry.getChildren((Frame) w), itemNames)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void collectWidgetItemNames(Widget w, Set<String> itemNames) {
+        if (w.getItem() != null) {
+            itemNames.add(w.getItem());
+        }
+        for (VisibilityRule rule : w.getVisibility()) {
+            if (rule.getItem() != null) {
+                itemNames.add(rule.getItem());
+            }
+        }
+        for (ColorArray color : w.getLabelColor()) {
+            if (color.getItem() != null) {
+                itemNames.add(color.getItem());
+            }
+        }
+        for (ColorArray color : w.getValueColor()) {
+            if (color.getItem() != null) {
+                itemNames.add(color.getItem());
+            }
+        }
+    }
+
+    /**
+     * @return the locale pages are currently rendered in
+     */
+    public Locale getLocale() {
+        return localeProvider.getLocale();
+    }
+
     private void processChildren(StringBuilder sb_pre, StringBuilder sb_post, EList<Widget> children)
             throws RenderException {
         // put a single frame around all children widgets, if there are no explicit frames
@@ -137,12 +204,12 @@ public class PageRenderer extends AbstractWidgetRenderer {
             EObject parent = itemUIRegistry.getParent((Widget) firstChild);
             if (!(firstChild instanceof Frame || parent instanceof Frame || parent instanceof Sitemap
                     || parent instanceof org.eclipse.smarthome.model.sitemap.List)) {
-                String frameSnippet = getSnippet("frame");
-                frameSnippet = StringUtils.replace(frameSnippet, "%widget_id%", "");
-                frameSnippet = StringUtils.replace(frameSnippet, "%label%", "");
-                frameSnippet = StringUtils.replace(frameSnippet, "%frame_class%", "mdl-form--no-label");
+                Map<String, String> values = new HashMap<>();
+                values.put("widget_id", "");
+                values.put("label", "");
+                values.put("frame_class", "mdl-form--no-label");
 
-                String[] parts = frameSnippet.split("%children%");
+                String[] parts = getSnippetTemplate("frame").render(values).split("%children%");
                 if (parts.length > 1) {
                     sb_pre.append(parts[0]);
                     sb_post.insert(0, parts[1]);
@@ -222,34 +289,34 @@ public class PageRenderer extends AbstractWidgetRenderer {
             }
         }
 
-        String pageSnippet = getSnippet("main_static");
-        String listSnippet = getSnippet("sitemaps_list");
-        String sitemapSnippet = getSnippet("sitemaps_list_item");
+        SnippetTemplate pageSnippet = getSnippetTemplate("main_static");
+        SnippetTemplate listSnippet = getSnippetTemplate("sitemaps_list");
+        SnippetTemplate sitemapSnippet = getSnippetTemplate("sitemaps_list_item");
 
         StringBuilder sb = new StringBuilder();
+        Map<String, String> values = new HashMap<>();
         if (sitemapList.isEmpty()) {
-            String listEmptySnippet = getSnippet("sitemaps_list_empty");
-            listEmptySnippet = StringUtils.replace(listEmptySnippet, "%sitemaps-list-empty.info%",
-                    localizeText("@text/sitemaps-list-empty.info"));
-            sb.append(listEmptySnippet);
+            values.put("sitemaps-list-empty.info", localizeText("@text/sitemaps-list-empty.info"));
+            getSnippetTemplate("sitemaps_list_empty").render(sb, values);
         } else {
             for (String sitemap : sitemapList) {
-                sb.append(StringUtils.replace(sitemapSnippet, "%sitemap%", sitemap));
+                values.put("sitemap", sitemap);
+                sitemapSnippet.render(sb, values);
             }
         }
 
-        listSnippet = StringUtils.replace(listSnippet, "%sitemaps-list.welcome%",
-                localizeText("@text/sitemaps-list.welcome"));
-        listSnippet = StringUtils.replace(listSnippet, "%sitemaps-list.available-sitemaps%",
-                localizeText("@text/sitemaps-list.available-sitemaps"));
-        listSnippet = StringUtils.replace(listSnippet, "%items%", sb.toString());
+        values.clear();
+        values.put("sitemaps-list.welcome", localizeText("@text/sitemaps-list.welcome"));
+        values.put("sitemaps-list.available-sitemaps", localizeText("@text/sitemaps-list.available-sitemaps"));
+        values.put("items", sb.toString());
+        String list = listSnippet.render(values);
 
-        pageSnippet = StringUtils.replace(pageSnippet, "%title%", "BasicUI");
-        pageSnippet = StringUtils.replace(pageSnippet, "%htmlclass%",
-                config.getCssClassList() + " page-welcome-sitemaps");
-        pageSnippet = StringUtils.replace(pageSnippet, "%content%", listSnippet);
+        values.clear();
+        values.put("title", "BasicUI");
+        values.put("htmlclass", config.getCssClassList() + " page-welcome-sitemaps");
+        values.put("content", list);
 
-        return pageSnippet;
+        return pageSnippet.render(values);
     }
 
     @Override
@@ -13,8 +13,8 @@
 package org.openhab.ui.basic.internal.render;
 
 import java.math.BigDecimal;
+import java.util.Map;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.types.State;
@@ -97,21 +97,20 @@ public class SetpointRenderer extends AbstractWidgetRenderer {
         String unit = getUnitForWidget(w);
 
         String snippetName = "setpoint";
-        String snippet = getSnippet(snippetName);
+        SnippetTemplate snippet = getSnippetTemplate(snippetName);
 
-        snippet = preprocessSnippet(snippet, w);
-        snippet = StringUtils.replace(snippet, "%newlowerstate%", newLowerState);
-        snippet = StringUtils.replace(snippet, "%newhigherstate%", newHigherState);
-        snippet = StringUtils.replace(snippet, "%value%", getValue(w));
-        snippet = StringUtils.replace(snippet, "%minValue%", minValue.toString());
-        snippet = StringUtils.replace(snippet, "%maxValue%", maxValue.toString());
-        snippet = StringUtils.replace(snippet, "%step%", step.toString());
-        snippet = StringUtils.replace(snippet, "%unit%", unit);
+        Map<String, String> values = preprocessSnippet(w);
+        values.put("newlowerstate", newLowerState);
+        values.put("newhigherstate", newHigherState);
+        values.put("minValue", minValue.toString());
+        values.put("maxValue", maxValue.toString());
+        values.put("step", step.toString());
+        values.put("unit", unit);
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, values);
 
-        sb.append(snippet);
+        snippet.render(sb, values);
         return null;
     }
 
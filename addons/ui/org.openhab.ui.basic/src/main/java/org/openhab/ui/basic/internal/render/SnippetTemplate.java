@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.ui.basic.internal.render;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A snippet that has been parsed into literal text and placeholders of the form <code>%name%</code>.
+ *
+ * The snippet is parsed only once, and rendering it appends the literal text and the placeholder values directly to
+ * a string builder, instead of copying the whole snippet for every replaced placeholder.
+ *
+ * Placeholders without a value (or with a <code>null</code> value) are rendered unchanged, so that they can be
+ * processed later, e.g. <code>%children%</code>. Values are inserted as they are, placeholders in values are not
+ * replaced.
+ *
+ * @author agent - Initial contribution
+ */
+public class SnippetTemplate {
+
+    private final String snippet;
+
+    /* literal text before, between and after the placeholders; there is one more literal than placeholders */
+    private final String[] literals;
+
+    /* placeholder names, without the surrounding % characters */
+    private final String[] placeholders;
+
+    private SnippetTemplate(String snippet, String[] literals, String[] placeholders) {
+        this.snippet = snippet;
+        this.literals = literals;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Parses a snippet
+     *
+     * @param snippet snippet html code with placeholders
+     * @return the parsed snippet
+     */
+    public static SnippetTemplate parse(String snippet) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int literalStart = 0;
+        int index = snippet.indexOf('%');
+        while (index >= 0) {
+            int end = snippet.indexOf('%', index + 1);
+            if (end < 0) {
+                break;
+            }
+            if (isPlaceholderName(snippet, index + 1, end)) {
+                literals.add(snippet.substring(literalStart, index));
+                placeholders.add(snippet.substring(index + 1, end));
+                literalStart = end + 1;
+                index = snippet.indexOf('%', literalStart);
+            } else {
+                // the second % might start a placeholder
+                index = end;
+            }
+        }
+        literals.add(snippet.substring(literalStart));
+        return new SnippetTemplate(snippet, literals.toArray(new String[literals.size()]),
+                placeholders.toArray(new String[placeholders.size()]));
+    }
+
+    private static boolean isPlaceholderName(String snippet, int start, int end) {
+        if (start == end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char c = snippet.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Renders the snippet to a string builder
+     *
+     * @param sb the string builder to append the html code to
+     * @param values placeholder values, keyed by placeholder name without the surrounding % characters
+     */
+    public void render(StringBuilder sb, Map<String, String> values) {
+        sb.append(literals[0]);
+        for (int i = 0; i < placeholders.length; i++) {
+            String value = values.get(placeholders[i]);
+            if (value != null) {
+                sb.append(value);
+            } else {
+                sb.append('%').append(placeholders[i]).append('%');
+            }
+            sb.append(literals[i + 1]);
+        }
+    }
+
+    /**
+     * Renders the snippet to a string
+     *
+     * @param values placeholder values, keyed by placeholder name without the surrounding % characters
+     * @return the html code
+     */
+    public String render(Map<String, String> values) {
+        StringBuilder sb = new StringBuilder(snippet.length() + 64);
+        render(sb, values);
+        return sb.toString();
+    }
+
+    /**
+     * @return the original snippet html code, including the placeholders
+     */
+    public String getSnippet() {
+        return snippet;
+    }
+}
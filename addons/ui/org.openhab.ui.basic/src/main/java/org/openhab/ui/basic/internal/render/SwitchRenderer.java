@@ -12,6 +12,9 @@
  */
 package org.openhab.ui.basic.internal.render;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.items.GroupItem;
@@ -107,16 +110,16 @@ public class SwitchRenderer extends AbstractWidgetRenderer {
             snippetName = "switch";
         }
 
-        String snippet = getSnippet(snippetName);
+        SnippetTemplate snippet = getSnippetTemplate(snippetName);
         State state = itemUIRegistry.getState(w);
 
-        snippet = preprocessSnippet(snippet, w);
+        Map<String, String> values = preprocessSnippet(w);
 
         if (nbButtons == 0) {
             if (state.equals(OnOffType.ON)) {
-                snippet = snippet.replaceAll("%checked%", "checked=true");
+                values.put("checked", "checked=true");
             } else {
-                snippet = snippet.replaceAll("%checked%", "");
+                values.put("checked", "");
             }
         } else {
             StringBuilder buttons = new StringBuilder();
@@ -136,20 +139,20 @@ public class SwitchRenderer extends AbstractWidgetRenderer {
                     }
                 }
             }
-            snippet = StringUtils.replace(snippet, "%buttons%", buttons.toString());
-            snippet = StringUtils.replace(snippet, "%count%", Integer.toString(nbButtons));
+            values.put("buttons", buttons.toString());
+            values.put("count", Integer.toString(nbButtons));
         }
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, values);
 
-        sb.append(snippet);
+        snippet.render(sb, values);
         return null;
     }
 
     private void buildButton(Switch w, String lab, String cmd, int maxLabelSize, boolean severalButtons, Item item,
             State state, StringBuilder buttons) throws RenderException {
-        String button = getSnippet("button");
+        SnippetTemplate button = getSnippetTemplate("button");
 
         String command = cmd;
         String label = lab;
@@ -164,9 +167,10 @@ public class SwitchRenderer extends AbstractWidgetRenderer {
             label = label.substring(0, maxLabelSize - 1) + ELLIPSIS;
         }
 
-        button = StringUtils.replace(button, "%item%", w.getItem());
-        button = StringUtils.replace(button, "%cmd%", escapeHtml(command));
-        button = StringUtils.replace(button, "%label%", label != null ? escapeHtml(label) : "");
+        Map<String, String> values = new HashMap<>();
+        values.put("item", w.getItem());
+        values.put("cmd", escapeHtml(command));
+        values.put("label", label != null ? escapeHtml(label) : "");
 
         String buttonClass;
         State compareMappingState = state;
@@ -180,9 +184,9 @@ public class SwitchRenderer extends AbstractWidgetRenderer {
         } else {
             buttonClass = "mdl-button";
         }
-        button = StringUtils.replace(button, "%class%", buttonClass);
+        values.put("class", buttonClass);
 
-        buttons.append(button);
+        button.render(buttons, values);
     }
 
     @Override
@@ -0,0 +1,215 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.ui.basic.internal.servlet;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.smarthome.core.events.Event;
+import org.eclipse.smarthome.core.events.EventFilter;
+import org.eclipse.smarthome.core.events.EventSubscriber;
+import org.eclipse.smarthome.core.items.events.GroupItemStateChangedEvent;
+import org.eclipse.smarthome.core.items.events.ItemAddedEvent;
+import org.eclipse.smarthome.core.items.events.ItemRemovedEvent;
+import org.eclipse.smarthome.core.items.events.ItemStateChangedEvent;
+import org.eclipse.smarthome.core.items.events.ItemUpdatedEvent;
+import org.osgi.service.component.annotations.Component;
+
+/**
+ * Cache of the pages rendered by the {@link WebAppServlet}.
+ *
+ * A cached page is dropped as soon as one of the items its rendering depends on changes its state. Adding, removing
+ * or updating items drops all pages, as this can change labels, icons and group members. As the rendering also
+ * depends on data that is not announced through events (e.g. state descriptions), pages are rendered again after
+ * {@link #MAX_AGE_MILLIS} at the latest.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = { RenderedPageCache.class, EventSubscriber.class })
+public class RenderedPageCache implements EventSubscriber {
+
+    private static final Set<String> SUBSCRIBED_EVENT_TYPES = Collections
+            .unmodifiableSet(new HashSet<>(Arrays.asList(ItemStateChangedEvent.TYPE, GroupItemStateChangedEvent.TYPE,
+                    ItemAddedEvent.TYPE, ItemRemovedEvent.TYPE, ItemUpdatedEvent.TYPE)));
+
+    static final long MAX_AGE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * A rendered page together with its entity tag
+     */
+    public static class RenderedPage {
+        private final String content;
+        private final String etag;
+        private final Object sitemap;
+        private final Set<String> itemNames;
+        private final long createdMillis;
+
+        private RenderedPage(String content, Object sitemap, Set<String> itemNames) {
+            this.content = content;
+            this.etag = createETag(content);
+            this.sitemap = sitemap;
+            this.itemNames = itemNames;
+            this.createdMillis = System.currentTimeMillis();
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        /**
+         * @return the quoted entity tag of the content, as used in the ETag header
+         */
+        public String getETag() {
+            return etag;
+        }
+    }
+
+    private final Map<String, RenderedPage> pages = new ConcurrentHashMap<>();
+
+    /**
+     * Sequence number of the last received event
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Sequence number of the last state change of each item
+     */
+    private final Map<String, Long> lastChanges = new ConcurrentHashMap<>();
+
+    /**
+     * Sequence number of the last event that dropped all pages
+     */
+    private volatile long lastClear;
+
+    /**
+     * Marks the start of rendering a page. Pass the returned value to {@link #put} so that pages which might have
+     * missed a state change during rendering are not cached.
+     *
+     * @return the current event sequence number
+     */
+    public long startRendering() {
+        return sequence.get();
+    }
+
+    /**
+     * Looks up a cached page
+     *
+     * @param key     key of the page
+     * @param sitemap the sitemap the page belongs to. Pages rendered from another instance of the sitemap, e.g.
+     *                    before the sitemap has been reloaded, are not returned
+     * @return the cached page, or null if there is no valid cached page
+     */
+    public RenderedPage get(String key, Object sitemap) {
+        RenderedPage page = pages.get(key);
+        if (page == null) {
+            return null;
+        }
+        if (page.sitemap != sitemap || System.currentTimeMillis() - page.createdMillis > MAX_AGE_MILLIS) {
+            pages.remove(key, page);
+            return null;
+        }
+        return page;
+    }
+
+    /**
+     * Creates a rendered page and caches it, unless one of the items it depends on has changed since rendering has
+     * been started.
+     *
+     * @param key               key of the page
+     * @param sitemap           the sitemap the page belongs to
+     * @param content           the rendered page
+     * @param itemNames         names of all items the page depends on, or null if the page must not be cached
+     * @param renderingSequence the value returned by {@link #startRendering()} before rendering the page
+     * @return the rendered page
+     */
+    public RenderedPage put(String key, Object sitemap, String content, Set<String> itemNames,
+            long renderingSequence) {
+        RenderedPage page = new RenderedPage(content, sitemap, itemNames);
+        if (itemNames != null && !isChangedSince(itemNames, renderingSequence)) {
+            pages.put(key, page);
+            // an event might have been received while the page was being added
+            if (isChangedSince(itemNames, renderingSequence)) {
+                pages.remove(key, page);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Drops all cached pages
+     */
+    public void clear() {
+        lastClear = sequence.incrementAndGet();
+        pages.clear();
+    }
+
+    private boolean isChangedSince(Set<String> itemNames, long renderingSequence) {
+        if (lastClear > renderingSequence) {
+            return true;
+        }
+        for (String itemName : itemNames) {
+            Long lastChange = lastChanges.get(itemName);
+            if (lastChange != null && lastChange > renderingSequence) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return SUBSCRIBED_EVENT_TYPES;
+    }
+
+    @Override
+    public EventFilter getEventFilter() {
+        return null;
+    }
+
+    @Override
+    public void receive(Event event) {
+        if (event instanceof ItemStateChangedEvent) {
+            String itemName = ((ItemStateChangedEvent) event).getItemName();
+            lastChanges.put(itemName, sequence.incrementAndGet());
+            pages.values().removeIf(page -> page.itemNames.contains(itemName));
+        } else {
+            clear();
+            lastChanges.clear();
+        }
+    }
+
+    private static String createETag(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder etag = new StringBuilder(digest.length * 2 + 2).append('"');
+            for (byte b : digest) {
+                etag.append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+            }
+            return etag.append('"').toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-1 is available on every Java platform
+            return "\"" + Integer.toHexString(content.hashCode()) + "-" + content.length() + "\"";
+        }
+    }
+}
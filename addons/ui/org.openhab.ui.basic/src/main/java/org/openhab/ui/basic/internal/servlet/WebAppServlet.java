@@ -14,6 +14,7 @@ package org.openhab.ui.basic.internal.servlet;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -35,6 +36,7 @@ import org.eclipse.smarthome.model.sitemap.SitemapProvider;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.openhab.ui.basic.internal.WebAppConfig;
 import org.openhab.ui.basic.internal.render.PageRenderer;
+import org.openhab.ui.basic.internal.servlet.RenderedPageCache.RenderedPage;
 import org.openhab.ui.basic.render.RenderException;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
@@ -78,6 +80,7 @@ public class WebAppServlet extends BaseServlet {
     private static final String CONTENT_TYPE = "text/html;charset=UTF-8";
 
     private PageRenderer renderer;
+    private RenderedPageCache pageCache;
     private SitemapSubscriptionService subscriptions;
     private final WebAppConfig config = new WebAppConfig();
     protected Set<SitemapProvider> sitemapProviders = new CopyOnWriteArraySet<>();
@@ -110,6 +113,15 @@ public class WebAppServlet extends BaseServlet {
         this.renderer = null;
     }
 
+    @Reference
+    public void setRenderedPageCache(RenderedPageCache pageCache) {
+        this.pageCache = pageCache;
+    }
+
+    public void unsetRenderedPageCache(RenderedPageCache pageCache) {
+        this.pageCache = null;
+    }
+
     @Activate
     protected void activate(Map<String, Object> configProps, BundleContext bundleContext) {
         HttpContext httpContext = createHttpContext(bundleContext.getBundle());
@@ -127,6 +139,7 @@ public class WebAppServlet extends BaseServlet {
     @Modified
     protected void modified(Map<String, Object> configProps) {
         config.applyConfig(configProps);
+        pageCache.clear();
     }
 
     @Deactivate
@@ -158,7 +171,6 @@ public class WebAppServlet extends BaseServlet {
             sitemapName = config.getDefaultSitemap();
         }
 
-        StringBuilder result = new StringBuilder();
         Sitemap sitemap = null;
 
         for (SitemapProvider sitemapProvider : sitemapProviders) {
@@ -168,6 +180,7 @@ public class WebAppServlet extends BaseServlet {
             }
         }
 
+        RenderedPage page = null;
         try {
             if (sitemap == null) {
                 showSitemapList(res);
@@ -184,9 +197,11 @@ public class WebAppServlet extends BaseServlet {
                         logger.debug("Basic UI requested a non-existing event subscription id ({})", subscriptionId);
                     }
                 }
-                String label = sitemap.getLabel() != null ? sitemap.getLabel() : sitemapName;
-                EList<Widget> children = renderer.getItemUIRegistry().getChildren(sitemap);
-                result.append(renderer.processPage(sitemapName, sitemapName, label, children, async));
+                String pageKey = getPageKey(sitemapName, sitemapName, async);
+                page = pageCache.get(pageKey, sitemap);
+                if (page == null) {
+                    page = renderPage(pageKey, sitemap, sitemapName, null, async);
+                }
             } else if (!widgetId.equals("Colorpicker")) {
                 // we are on some subpage, so we have to render the children of the widget that has been selected
                 if (subscriptionId != null) {
@@ -196,18 +211,16 @@ public class WebAppServlet extends BaseServlet {
                         logger.debug("Basic UI requested a non-existing event subscription id ({})", subscriptionId);
                     }
                 }
-                Widget w = renderer.getItemUIRegistry().getWidget(sitemap, widgetId);
-                if (w != null) {
-                    String label = renderer.getItemUIRegistry().getLabel(w);
-                    if (label == null) {
-                        label = "undefined";
+                String pageKey = getPageKey(sitemapName, widgetId, async);
+                page = pageCache.get(pageKey, sitemap);
+                if (page == null) {
+                    Widget w = renderer.getItemUIRegistry().getWidget(sitemap, widgetId);
+                    if (w != null) {
+                        if (!(w instanceof LinkableWidget)) {
+                            throw new RenderException("Widget '" + w + "' can not have any content");
+                        }
+                        page = renderPage(pageKey, sitemap, sitemapName, (LinkableWidget) w, async);
                     }
-                    if (!(w instanceof LinkableWidget)) {
-                        throw new RenderException("Widget '" + w + "' can not have any content");
-                    }
-                    EList<Widget> children = renderer.getItemUIRegistry().getChildren((LinkableWidget) w);
-                    result.append(renderer.processPage(renderer.getItemUIRegistry().getWidgetId(w), sitemapName, label,
-                            children, async));
                 }
             }
         } catch (RenderException e) {
@@ -218,10 +231,71 @@ public class WebAppServlet extends BaseServlet {
         } else {
             res.setContentType(CONTENT_TYPE);
         }
-        res.getWriter().append(result);
+        if (page != null) {
+            res.setHeader("ETag", page.getETag());
+            res.setHeader("Cache-Control", "no-cache");
+            if (matchesETag(req.getHeader("If-None-Match"), page.getETag())) {
+                res.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+            res.getWriter().append(page.getContent());
+        }
         res.getWriter().close();
     }
 
+    /**
+     * Renders the root page of a sitemap or the subpage of a widget and adds it to the page cache, if it only depends
+     * on item states. The title of a subpage is the label of its parent widget, it is read after the rendering has
+     * been started, like the children, so that a state change in between invalidates the page.
+     *
+     * @param parent the widget whose children are rendered, or null for the root page of the sitemap
+     */
+    private RenderedPage renderPage(String pageKey, Sitemap sitemap, String sitemapName, LinkableWidget parent,
+            boolean async) throws RenderException {
+        long renderingSequence = pageCache.startRendering();
+        String id;
+        String label;
+        EList<Widget> children;
+        if (parent == null) {
+            id = sitemapName;
+            label = sitemap.getLabel() != null ? sitemap.getLabel() : sitemapName;
+            children = renderer.getItemUIRegistry().getChildren(sitemap);
+        } else {
+            id = renderer.getItemUIRegistry().getWidgetId(parent);
+            label = renderer.getItemUIRegistry().getLabel(parent);
+            if (label == null) {
+                label = "undefined";
+            }
+            children = renderer.getItemUIRegistry().getChildren(parent);
+        }
+        Set<String> itemNames = new HashSet<>();
+        if (!renderer.collectItemNames(parent, children, itemNames)) {
+            itemNames = null;
+        }
+        String content = renderer.processPage(id, sitemapName, label, children, async).toString();
+        return pageCache.put(pageKey, sitemap, content, itemNames, renderingSequence);
+    }
+
+    private String getPageKey(String sitemapName, String id, boolean async) {
+        return sitemapName + "/" + id + "/" + async + "/" + renderer.getLocale();
+    }
+
+    private static boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     @Reference
     public void setItemRegistry(ItemRegistry ItemRegistry) {
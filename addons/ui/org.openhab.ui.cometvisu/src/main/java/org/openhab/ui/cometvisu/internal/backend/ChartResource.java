@@ -12,9 +12,14 @@
  */
 package org.openhab.ui.cometvisu.internal.backend;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.ArrayList;
@@ -35,6 +40,7 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import org.eclipse.smarthome.core.items.GroupItem;
@@ -170,11 +176,12 @@ public class ChartResource implements RESTResource {
             } else {
                 logger.debug("using {} persistence for item {}", persistenceService.getId(), itemName);
             }
-            Object data = null;
+            StreamingOutput data = null;
             if (persistenceService.getId().equals("rrd4j")) {
                 data = getRrdSeries(persistenceService, item, consilidationFunction, startTime, endTime, resolution);
             } else {
-                data = getPersistenceSeries(persistenceService, item, startTime, endTime, resolution);
+                data = getPersistenceSeries(persistenceService, item, consilidationFunction, startTime, endTime,
+                        resolution);
             }
             return Response.ok(data, responseType).build();
         } catch (ItemNotFoundException e1) {
@@ -184,10 +191,22 @@ public class ChartResource implements RESTResource {
         return Response.serverError().build();
     }
 
-    public Object getPersistenceSeries(QueryablePersistenceService persistenceService, Item item, Date timeBegin,
-            Date timeEnd, long resolution) {
-        Map<Long, List<String>> data = new HashMap<>();
-
+    /**
+     * returns the series data of a generic persistence service, an array of [[timestamp,data]]
+     *
+     * The data is downsampled to the requested resolution by consolidating all values within each interval with the
+     * requested consolidation function, and it is written to the response while iterating over the query result.
+     *
+     * @param persistenceService
+     * @param item
+     * @param consilidationFunction function used to consolidate the values within one interval
+     * @param timeBegin
+     * @param timeEnd
+     * @param resolution length of the intervals in seconds, 0 or less to return all values
+     * @return
+     */
+    public StreamingOutput getPersistenceSeries(QueryablePersistenceService persistenceService, Item item,
+            ConsolFun consilidationFunction, Date timeBegin, Date timeEnd, long resolution) {
         // Define the data filter
         FilterCriteria filter = new FilterCriteria();
         filter.setBeginDate(timeBegin);
@@ -195,25 +214,62 @@ public class ChartResource implements RESTResource {
         filter.setItemName(item.getName());
         filter.setOrdering(Ordering.ASCENDING);
 
-        // Get the data from the persistence store
-        Iterable<HistoricItem> result = persistenceService.query(filter);
-        Iterator<HistoricItem> it = result.iterator();
+        return output -> writePersistenceSeries(output, persistenceService, filter, consilidationFunction, resolution);
+    }
+
+    private void writePersistenceSeries(OutputStream output, QueryablePersistenceService persistenceService,
+            FilterCriteria filter, ConsolFun consilidationFunction, long resolution) throws IOException {
+        DecimalFormat format = (DecimalFormat) DECIMAL_FORMAT.clone();
+        long intervalMillis = Math.max(resolution, 0) * 1000;
+        SeriesInterval interval = new SeriesInterval(consilidationFunction);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write('[');
 
-        // Iterate through the data
+        // Get the data from the persistence store and iterate through it
         int dataCounter = 0;
-        while (it.hasNext()) {
+        int intervalCounter = 0;
+        for (HistoricItem historicItem : persistenceService.query(filter)) {
             dataCounter++;
-            HistoricItem historicItem = it.next();
             org.eclipse.smarthome.core.types.State state = historicItem.getState();
             if (state instanceof DecimalType) {
-                List<String> vals = new ArrayList<>();
-                vals.add(formatDouble(((DecimalType) state).doubleValue(), "null", true));
-                data.put(historicItem.getTimestamp().getTime(), vals);
+                long time = historicItem.getTimestamp().getTime();
+                long intervalStart = intervalMillis > 0 ? time - time % intervalMillis : time;
+                if (interval.count > 0 && interval.start != intervalStart) {
+                    writeSeriesEntry(writer, intervalCounter++, interval.start,
+                            formatDouble(format, interval.getValue(), "null", true));
+                    interval.count = 0;
+                }
+                interval.add(intervalStart, ((DecimalType) state).doubleValue());
             }
         }
-        logger.debug("'{}' querying item '{}' from '{}' to '{}' => '{}' results", persistenceService.getId(),
-                filter.getItemName(), filter.getBeginDate(), filter.getEndDate(), dataCounter);
-        return convertToRrd(data);
+        if (interval.count > 0) {
+            writeSeriesEntry(writer, intervalCounter++, interval.start,
+                    formatDouble(format, interval.getValue(), "null", true));
+        }
+        writer.write(']');
+        writer.flush();
+
+        logger.debug("'{}' querying item '{}' from '{}' to '{}' => '{}' results, '{}' intervals",
+                persistenceService.getId(), filter.getItemName(), filter.getBeginDate(), filter.getEndDate(),
+                dataCounter, intervalCounter);
+    }
+
+    private static void writeSeriesEntry(Writer writer, int index, long time, String... values) throws IOException {
+        if (index > 0) {
+            writer.write(',');
+        }
+        writer.write('[');
+        writer.write(Long.toString(time));
+        writer.write(",[");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write('"');
+            writer.write(values[i]);
+            writer.write('"');
+        }
+        writer.write("]]");
     }
 
     /**
@@ -227,7 +283,7 @@ public class ChartResource implements RESTResource {
      * @param resolution
      * @return
      */
-    public Object getRrdSeries(QueryablePersistenceService persistenceService, Item item,
+    public StreamingOutput getRrdSeries(QueryablePersistenceService persistenceService, Item item,
             ConsolFun consilidationFunction, Date timeBegin, Date timeEnd, long resolution) {
         Map<Long, List<String>> data = new TreeMap<>();
         try {
@@ -248,25 +304,27 @@ public class ChartResource implements RESTResource {
         } catch (FileNotFoundException e) {
             // rrd file does not exist, fallback to generic persistence service
             logger.debug("no rrd file found '{}'", (RRD_FOLDER + File.separator + item.getName() + ".rrd"));
-            return getPersistenceSeries(persistenceService, item, timeBegin, timeEnd, resolution);
+            return getPersistenceSeries(persistenceService, item, consilidationFunction, timeBegin, timeEnd,
+                    resolution);
         } catch (Exception e) {
             logger.error("{}: fallback to generic persistance service", e.getLocalizedMessage());
-            return getPersistenceSeries(persistenceService, item, timeBegin, timeEnd, resolution);
+            return getPersistenceSeries(persistenceService, item, consilidationFunction, timeBegin, timeEnd,
+                    resolution);
         }
         return convertToRrd(data);
     }
 
-    private List<Object> convertToRrd(Map<Long, List<String>> data) {
-        // sort data by key
-        Map<Long, List<String>> treeMap = new TreeMap<>(data);
-        List<Object> rrd = new ArrayList<>();
-        for (Long time : treeMap.keySet()) {
-            Object[] entry = new Object[2];
-            entry[0] = time;
-            entry[1] = data.get(time);
-            rrd.add(entry);
-        }
-        return rrd;
+    private StreamingOutput convertToRrd(Map<Long, List<String>> data) {
+        return output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            writer.write('[');
+            int index = 0;
+            for (Entry<Long, List<String>> entry : data.entrySet()) {
+                writeSeriesEntry(writer, index++, entry.getKey(), entry.getValue().toArray(new String[0]));
+            }
+            writer.write(']');
+            writer.flush();
+        };
     }
 
     private Map<Long, List<String>> addRrdData(Map<Long, List<String>> data, String itemName,
@@ -300,12 +358,70 @@ public class ChartResource implements RESTResource {
     }
 
     static String formatDouble(double x, String nanString, boolean forceExponents) {
+        synchronized (DECIMAL_FORMAT) {
+            return formatDouble(DECIMAL_FORMAT, x, nanString, forceExponents);
+        }
+    }
+
+    private static String formatDouble(DecimalFormat format, double x, String nanString, boolean forceExponents) {
         if (Double.isNaN(x)) {
             return nanString;
         }
         if (forceExponents) {
-            return DECIMAL_FORMAT.format(x);
+            return format.format(x);
         }
         return "" + x;
     }
+
+    /**
+     * consolidates the values of one interval of a downsampled series
+     */
+    private static class SeriesInterval {
+        private final ConsolFun consilidationFunction;
+        private long start;
+        private int count;
+        private double first;
+        private double last;
+        private double min;
+        private double max;
+        private double total;
+
+        SeriesInterval(ConsolFun consilidationFunction) {
+            this.consilidationFunction = consilidationFunction;
+        }
+
+        void add(long intervalStart, double value) {
+            if (count == 0) {
+                start = intervalStart;
+                first = value;
+                min = value;
+                max = value;
+                total = 0;
+            } else {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            last = value;
+            total += value;
+            count++;
+        }
+
+        double getValue() {
+            switch (consilidationFunction) {
+                case MIN:
+                    return min;
+                case MAX:
+                    return max;
+                case FIRST:
+                    return first;
+                case LAST:
+                    return last;
+                case TOTAL:
+                    return total;
+                case AVERAGE:
+                default:
+                    return total / count;
+            }
+        }
+    }
 }
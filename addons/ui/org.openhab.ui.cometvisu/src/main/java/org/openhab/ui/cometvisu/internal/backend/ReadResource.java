@@ -16,11 +16,18 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -39,7 +46,7 @@ import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.io.rest.RESTResource;
 import org.glassfish.jersey.media.sse.EventOutput;
-import org.glassfish.jersey.media.sse.SseBroadcaster;
+import org.glassfish.jersey.media.sse.OutboundEvent;
 import org.glassfish.jersey.media.sse.SseFeature;
 import org.openhab.ui.cometvisu.internal.Config;
 import org.openhab.ui.cometvisu.internal.backend.beans.StateBean;
@@ -54,6 +61,10 @@ import org.slf4j.LoggerFactory;
  * handles read request from the CometVisu client every request initializes a
  * SSE communication
  *
+ * Every client gets its own subscription of the requested items. State changes are collected for a short time and
+ * then sent to the subscribed clients, each client only receives the states which differ from the states it already
+ * knows. Clients requesting the same items share the serialized event.
+ *
  * @author Tobias Bräutigam - Initial contribution
  */
 @Component(immediate = true)
@@ -61,16 +72,35 @@ import org.slf4j.LoggerFactory;
 public class ReadResource implements EventBroadcaster, RESTResource {
     private final Logger logger = LoggerFactory.getLogger(ReadResource.class);
 
-    private SseBroadcaster broadcaster = new SseBroadcaster();
+    /**
+     * time state changes are collected before they are sent to the clients
+     */
+    private static final long COALESCE_WINDOW_MILLIS = 50;
 
-    private final ExecutorService executorService;
+    private final ScheduledExecutorService executorService;
 
     private ItemRegistry itemRegistry;
 
     private StateEventListener stateEventListener;
 
-    private List<String> itemNames = new ArrayList<>();
-    private Map<Item, Map<String, Class<? extends State>>> items = new HashMap<>();
+    private final long startMillis = System.currentTimeMillis();
+
+    /**
+     * subscriptions of the connected clients by openHAB item name
+     */
+    private final Map<String, Set<ClientSubscription>> subscriptions = new ConcurrentHashMap<>();
+
+    /**
+     * time of the last state change of all subscribed items, by openHAB item name
+     */
+    private final Map<String, Long> lastChanges = new ConcurrentHashMap<>();
+
+    /**
+     * items changed since the last time changes have been sent, by openHAB item name
+     */
+    private final Map<String, Item> changedItems = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean sendScheduled = new AtomicBoolean();
 
     @Context
     private UriInfo uriInfo;
@@ -83,8 +113,46 @@ public class ReadResource implements EventBroadcaster, RESTResource {
 
     private Collection<ItemFactory> itemFactories = new CopyOnWriteArrayList<>();
 
+    /**
+     * an item name as requested by the client, optionally prefixed with the type its state should be converted to
+     */
+    private static class ClientItem {
+        private final String name;
+        private final String itemName;
+        private final Class<? extends State> stateClass;
+
+        private ClientItem(String name, String itemName, Class<? extends State> stateClass) {
+            this.name = name;
+            this.itemName = itemName;
+            this.stateClass = stateClass;
+        }
+
+        private String getState(Item item) {
+            if (stateClass != null) {
+                return String.valueOf(item.getStateAs(stateClass));
+            }
+            return item.getState().toString();
+        }
+    }
+
+    /**
+     * the items requested by one client and the states the client knows of
+     */
+    private static class ClientSubscription {
+        private final EventOutput eventOutput;
+        private final Map<String, List<ClientItem>> clientItems = new LinkedHashMap<>();
+        /**
+         * states last sent to the client, by client item name. Guarded by this
+         */
+        private final Map<String, String> sentStates = new HashMap<>();
+
+        private ClientSubscription(EventOutput eventOutput) {
+            this.eventOutput = eventOutput;
+        }
+    }
+
     public ReadResource() {
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.executorService = Executors.newSingleThreadScheduledExecutor();
         this.stateEventListener = new StateEventListener();
         this.stateEventListener.setEventBroadcaster(this);
     }
@@ -107,10 +175,14 @@ public class ReadResource implements EventBroadcaster, RESTResource {
     }
 
     /**
-     * Subscribes the connecting client to the stream of events filtered by the
-     * given eventFilter.
+     * Subscribes the connecting client to the state changes of the requested items.
      *
-     * @param eventFilter
+     * The current states of the items are sent to the client first. If the client passes the id of the last event it
+     * has received, only the states of the items which have changed since then are sent.
+     *
+     * @param itemNames the requested items
+     * @param index     the id of the last event the client has received, 0 if it has not received any
+     * @param time
      * @return {@link EventOutput} object associated with the incoming
      *         connection.
      * @throws IOException
@@ -121,69 +193,114 @@ public class ReadResource implements EventBroadcaster, RESTResource {
     public Object getStates(@QueryParam("a") List<String> itemNames, @QueryParam("i") long index,
             @QueryParam("t") long time) throws IOException, InterruptedException {
         final EventOutput eventOutput = new EventOutput();
+        ClientSubscription subscription = new ClientSubscription(eventOutput);
+        for (String cvItemName : itemNames) {
+            ClientItem clientItem = parseClientItem(cvItemName);
+            subscription.clientItems.computeIfAbsent(clientItem.itemName, name -> new ArrayList<>()).add(clientItem);
+        }
 
-        this.itemNames = itemNames;
-
-        broadcaster.add(eventOutput);
+        // listen to state changes of the requested items before reading their current states, so that no change is
+        // lost in between
+        subscribe(subscription);
 
-        // get all requested items and send their states to the client
-        items = new HashMap<>();
         // send the current states of all items to the client
         if (this.itemRegistry != null) {
+            // changes before the start of this service are unknown, so all states are sent in this case
+            long changedSince = index > startMillis ? index : 0;
             List<StateBean> states = new ArrayList<>();
-            for (String cvItemName : itemNames) {
-                try {
-                    String[] parts = cvItemName.split(":");
-                    String ohItemName = cvItemName;
-                    Class<? extends State> stateClass = null;
-                    if (parts.length == 2) {
-                        String classPrefix = parts[0].toLowerCase();
-                        if (Config.itemTypeMapper.containsKey(classPrefix)) {
-                            stateClass = Config.itemTypeMapper.get(classPrefix);
-                            classPrefix += ":";
-                        } else {
-                            logger.debug("no type found for '{}'", classPrefix);
-                            classPrefix = "";
+            synchronized (subscription) {
+                for (Entry<String, List<ClientItem>> entry : subscription.clientItems.entrySet()) {
+                    try {
+                        Item item = this.itemRegistry.getItem(entry.getKey());
+                        Long lastChange = lastChanges.get(item.getName());
+                        boolean changed = changedSince == 0 || lastChange == null || lastChange >= changedSince;
+                        for (ClientItem clientItem : entry.getValue()) {
+                            String state = clientItem.getState(item);
+                            logger.trace("get state of '{}' as '{}' == '{}'", item, clientItem.stateClass, state);
+                            subscription.sentStates.put(clientItem.name, state);
+                            if (changed) {
+                                states.add(createStateBean(clientItem.name, state));
+                            }
                         }
-                        ohItemName = parts[1];
-                    }
-                    Item item = this.itemRegistry.getItem(ohItemName);
-                    if (!items.containsKey(item)) {
-                        items.put(item, new HashMap<>());
-                    }
-                    items.get(item).put(cvItemName, stateClass);
-                    StateBean itemState = new StateBean();
-                    itemState.name = cvItemName;
-
-                    if (stateClass != null) {
-                        itemState.state = item.getStateAs(stateClass).toString();
-                        logger.trace("get state of '{}' as '{}' == '{}'", item, stateClass, itemState.state);
-                    } else {
-                        itemState.state = item.getState().toString();
+                    } catch (ItemNotFoundException e) {
+                        logger.error("{}", e.getLocalizedMessage());
                     }
-                    states.add(itemState);
-                } catch (ItemNotFoundException e) {
-                    logger.error("{}", e.getLocalizedMessage());
                 }
+                logger.debug("initially sending {}/{} item states", states.size(), itemNames.size());
+                send(subscription, SseUtil.buildEvent(states));
             }
-            logger.debug("initially broadcasting {}/{} item states", states.size(), itemNames.size());
-            broadcaster.broadcast(SseUtil.buildEvent(states));
         }
-        // listen to state changes of the requested items
-        registerItems();
 
         return eventOutput;
     }
 
+    private ClientItem parseClientItem(String cvItemName) {
+        String[] parts = cvItemName.split(":");
+        if (parts.length != 2) {
+            return new ClientItem(cvItemName, cvItemName, null);
+        }
+        String classPrefix = parts[0].toLowerCase();
+        Class<? extends State> stateClass = Config.itemTypeMapper.get(classPrefix);
+        if (stateClass == null) {
+            logger.debug("no type found for '{}'", classPrefix);
+        }
+        return new ClientItem(cvItemName, parts[1], stateClass);
+    }
+
+    private StateBean createStateBean(String name, String state) {
+        StateBean stateBean = new StateBean();
+        stateBean.name = name;
+        stateBean.state = state;
+        return stateBean;
+    }
+
+    private void subscribe(ClientSubscription subscription) {
+        for (String itemName : subscription.clientItems.keySet()) {
+            subscriptions.compute(itemName, (name, itemSubscriptions) -> {
+                if (itemSubscriptions == null) {
+                    itemSubscriptions = ConcurrentHashMap.newKeySet();
+                    lastChanges.put(name, System.currentTimeMillis());
+                    listenTo(name, true);
+                }
+                itemSubscriptions.add(subscription);
+                return itemSubscriptions;
+            });
+        }
+    }
+
+    private void unsubscribe(ClientSubscription subscription) {
+        for (String itemName : subscription.clientItems.keySet()) {
+            subscriptions.computeIfPresent(itemName, (name, itemSubscriptions) -> {
+                itemSubscriptions.remove(subscription);
+                if (!itemSubscriptions.isEmpty()) {
+                    return itemSubscriptions;
+                }
+                lastChanges.remove(name);
+                listenTo(name, false);
+                return null;
+            });
+        }
+    }
+
+    private void listenTo(String itemName, boolean listen) {
+        ItemRegistry itemRegistry = this.itemRegistry;
+        Item item = itemRegistry != null ? itemRegistry.get(itemName) : null;
+        if (item instanceof GenericItem) {
+            if (listen) {
+                ((GenericItem) item).addStateChangeListener(stateEventListener);
+            } else {
+                ((GenericItem) item).removeStateChangeListener(stateEventListener);
+            }
+        }
+    }
+
     /**
      * listen for state changes from the requested items
      */
     @Override
     public void registerItems() {
-        for (Item item : items.keySet()) {
-            if (item instanceof GenericItem) {
-                ((GenericItem) item).addStateChangeListener(stateEventListener);
-            }
+        for (String itemName : subscriptions.keySet()) {
+            listenTo(itemName, true);
         }
     }
 
@@ -196,7 +313,7 @@ public class ReadResource implements EventBroadcaster, RESTResource {
      */
     @Override
     public void registerItem(Item item) {
-        if (item == null || items.containsKey(item) || !itemNames.contains(item.getName())) {
+        if (item == null || !subscriptions.containsKey(item.getName())) {
             return;
         }
         if (item instanceof GenericItem) {
@@ -205,41 +322,98 @@ public class ReadResource implements EventBroadcaster, RESTResource {
     }
 
     /**
-     * listens to state changes of the given item, if it is part of the
-     * requested items
+     * stops listening to state changes of the given item
      *
      * @param item
-     *            - the new item, that should be listened to
+     *            - the item, that should not be listened to anymore
      */
     @Override
     public void unregisterItem(Item item) {
-        if (item == null || items.containsKey(item) || !itemNames.contains(item.getName())) {
-            return;
-        }
         if (item instanceof GenericItem) {
             ((GenericItem) item).removeStateChangeListener(stateEventListener);
-            items.remove(item);
+        }
+    }
+
+    @Override
+    public void itemStateChanged(Item item) {
+        if (!subscriptions.containsKey(item.getName())) {
+            return;
+        }
+        lastChanges.put(item.getName(), System.currentTimeMillis());
+        changedItems.put(item.getName(), item);
+        if (sendScheduled.compareAndSet(false, true)) {
+            executorService.schedule(this::sendChangedStates, COALESCE_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
         }
     }
 
     /**
-     * Broadcasts an event described by the given parameters to all currently
-     * listening clients.
-     *
-     * @param item
-     *            - the item which has changed
-     * @param eventObject
-     *            - bean that can be converted to a JSON object.
+     * sends the states of the changed items to all clients subscribed to them, which do not know them yet
      */
-    @Override
-    public void broadcastEvent(final Object eventObject) {
-        executorService.execute(() -> {
-            broadcaster.broadcast(SseUtil.buildEvent(eventObject));
-        });
+    private void sendChangedStates() {
+        sendScheduled.set(false);
+
+        // the current states of the changed items, by client item name
+        Map<String, String> states = new HashMap<>();
+        Map<ClientSubscription, List<ClientItem>> changes = new LinkedHashMap<>();
+        Iterator<Item> it = changedItems.values().iterator();
+        while (it.hasNext()) {
+            Item item = it.next();
+            it.remove();
+            Set<ClientSubscription> itemSubscriptions = subscriptions.get(item.getName());
+            if (itemSubscriptions == null) {
+                continue;
+            }
+            for (ClientSubscription subscription : itemSubscriptions) {
+                for (ClientItem clientItem : subscription.clientItems.get(item.getName())) {
+                    states.computeIfAbsent(clientItem.name, name -> clientItem.getState(item));
+                    changes.computeIfAbsent(subscription, s -> new ArrayList<>()).add(clientItem);
+                }
+            }
+        }
+
+        // clients receiving the same states share the event
+        Map<List<String>, OutboundEvent> events = new HashMap<>();
+        for (Entry<ClientSubscription, List<ClientItem>> entry : changes.entrySet()) {
+            ClientSubscription subscription = entry.getKey();
+            synchronized (subscription) {
+                List<String> names = new ArrayList<>();
+                for (ClientItem clientItem : entry.getValue()) {
+                    String state = states.get(clientItem.name);
+                    if (!state.equals(subscription.sentStates.put(clientItem.name, state))) {
+                        names.add(clientItem.name);
+                    }
+                }
+                if (names.isEmpty()) {
+                    continue;
+                }
+                OutboundEvent event = events.computeIfAbsent(names, n -> {
+                    List<StateBean> stateBeans = new ArrayList<>(n.size());
+                    for (String name : n) {
+                        stateBeans.add(createStateBean(name, states.get(name)));
+                    }
+                    return SseUtil.buildEvent(stateBeans);
+                });
+                send(subscription, event);
+            }
+        }
+        logger.trace("sent {} different events to {} clients", events.size(), changes.size());
     }
 
-    @Override
-    public Map<String, Class<? extends State>> getClientItems(Item item) {
-        return items.get(item);
+    private void send(ClientSubscription subscription, OutboundEvent event) {
+        try {
+            if (subscription.eventOutput.isClosed()) {
+                unsubscribe(subscription);
+            } else {
+                subscription.eventOutput.write(event);
+            }
+        } catch (IOException e) {
+            logger.debug("client disconnected: {}", e.getMessage());
+            unsubscribe(subscription);
+            try {
+                subscription.eventOutput.close();
+            } catch (IOException e1) {
+                // already closed
+            }
+        }
     }
 }